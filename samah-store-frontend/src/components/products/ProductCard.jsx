@@ -9,7 +9,7 @@ import { getImageUrl } from '../../utils/imageUtils';
 
 export const ProductCard = ({ product }) => {
 
-  const imageUrl = getImageUrl(product.primaryImageUrl);
+  const imageUrl = getImageUrl(product.primaryThumbnailUrl || product.primaryImageUrl);
   const price = product.minVariantPrice || 0;
   const originalPrice = product.originalPrice;
   const isOnSale = originalPrice && originalPrice > price;
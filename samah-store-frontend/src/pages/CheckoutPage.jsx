@@ -1,4 +1,4 @@
-import { useState, useEffect } from 'react';
+import { useState, useEffect, useRef } from 'react';
 import { Link, useNavigate } from 'react-router-dom';
 import { useAuth } from '../context/AuthContext';
 import { useCart } from '../context/CartContext';
@@ -11,6 +11,9 @@ import { Button } from '../components/ui/Button';
 import { Input } from '../components/ui/Input';
 import { Modal } from '../components/ui/Modal';
 
+const newIdempotencyKey = () =>
+  window.crypto?.randomUUID?.() ?? `${Date.now()}-${Math.random().toString(36).slice(2)}`;
+
 const CheckoutPage = () => {
   const { isAuthenticated } = useAuth();
   const { cart, refreshCart } = useCart();
@@ -41,6 +44,8 @@ const CheckoutPage = () => {
 
   // Order
   const [placingOrder, setPlacingOrder] = useState(false);
+  // One key per checkout: double taps and retries after a dropped connection return the same order
+  const idempotencyKeyRef = useRef(newIdempotencyKey());
 
   // Derived values
   const subtotal = cart?.subtotal || 0;
@@ -48,6 +53,13 @@ const CheckoutPage = () => {
   const discount = appliedCoupon?.discount ? Number(appliedCoupon.discount) : 0;
   const total = Math.max(0, subtotal - discount + shippingFee);
 
+  // The server binds a key to the address and coupon it was first used with, but it cannot see
+  // which cart it was for: a changed cart is a new checkout and gets a new key
+  const cartSignature = cart?.items?.map((item) => `${item.id}:${item.quantity}`).join(',') ?? '';
+  useEffect(() => {
+    idempotencyKeyRef.current = newIdempotencyKey();
+  }, [cartSignature]);
+
   useEffect(() => {
     loadAddresses();
   }, []);
@@ -171,7 +183,8 @@ const CheckoutPage = () => {
         couponCode: appliedCoupon?.code || null,
       };
 
-      const order = await ordersApi.placeOrder(orderData);
+      const order = await ordersApi.placeOrder(orderData, idempotencyKeyRef.current);
+      idempotencyKeyRef.current = newIdempotencyKey();
       showToast('تم إنشاء الطلب بنجاح', 'success');
       await refreshCart(); // Clear cart after successful order
       navigate(`/orders/${order.id}`);
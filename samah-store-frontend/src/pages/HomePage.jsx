@@ -212,7 +212,7 @@ const ProductSpotlight = ({ product, loading }) => {
               >
                 {product.primaryImageUrl ? (
                     <img
-                        src={getImageUrl(product.primaryImageUrl)}
+                        src={getImageUrl(product.primaryThumbnailUrl || product.primaryImageUrl)}
                         alt={product.name}
                         className="w-full h-full object-cover object-center transition-transform duration-700 sm:group-hover:scale-105"
                         loading="lazy"
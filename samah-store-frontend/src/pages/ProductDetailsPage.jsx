@@ -151,7 +151,7 @@ const ProductDetailsPage = () => {
           <div>
             <div className="card mb-4 overflow-hidden">
               <img
-                src={getImageUrl(selectedImage?.url)}
+                src={getImageUrl(selectedImage?.detailUrl || selectedImage?.url)}
                 alt={product.name}
                 className="w-full aspect-square object-cover"
               />
@@ -165,7 +165,7 @@ const ProductDetailsPage = () => {
                     className={`card overflow-hidden ${selectedImage?.id === img.id ? 'ring-2 ring-primary' : ''}`}
                   >
                     <img
-                      src={getImageUrl(img.url)}
+                      src={getImageUrl(img.thumbnailUrl || img.url)}
                       alt={product.name}
                       className="w-full aspect-square object-cover"
                     />
@@ -66,8 +66,8 @@ const AdminProducts = () => {
   const [imageFormData, setImageFormData] = useState({
     url: '',
     sortOrder: '0',
-    file: null,
-    previewUrl: '',
+    files: [],
+    previewUrls: [],
     uploadMode: 'file', // 'file' or 'url'
   });
   const [imageFormErrors, setImageFormErrors] = useState({});
@@ -436,36 +436,40 @@ const AdminProducts = () => {
   // ========== IMAGE CRUD ==========
 
   const handleOpenAddImage = () => {
-    setImageFormData({ url: '', sortOrder: '0', file: null, previewUrl: '', uploadMode: 'file' });
+    setImageFormData({ url: '', sortOrder: '0', files: [], previewUrls: [], uploadMode: 'file' });
     setImageFormErrors({});
     setShowImageModal(true);
   };
 
   const handleCloseImageModal = () => {
     setShowImageModal(false);
-    setImageFormData({ url: '', sortOrder: '0', file: null, previewUrl: '', uploadMode: 'file' });
+    setImageFormData({ url: '', sortOrder: '0', files: [], previewUrls: [], uploadMode: 'file' });
     setImageFormErrors({});
   };
 
   const handleFileChange = (e) => {
-    const file = e.target.files?.[0];
-    if (file) {
-      // Validate file type
-      const validTypes = ['image/jpeg', 'image/png', 'image/webp', 'image/jpg'];
-      if (!validTypes.includes(file.type)) {
-        setImageFormErrors({ file: 'نوع الملف غير مدعوم. يجب أن يكون jpg, png, أو webp' });
-        return;
-      }
-      // Validate file size (5MB max)
-      if (file.size > 5 * 1024 * 1024) {
-        setImageFormErrors({ file: 'حجم الملف كبير جداً. الحد الأقصى 5 ميجابايت' });
-        return;
-      }
+    const files = Array.from(e.target.files || []);
+    if (files.length === 0) return;
 
-      const previewUrl = URL.createObjectURL(file);
-      setImageFormData({ ...imageFormData, file, previewUrl });
-      setImageFormErrors({});
+    // Validate file types
+    const validTypes = ['image/jpeg', 'image/png', 'image/webp', 'image/jpg'];
+    if (files.some((file) => !validTypes.includes(file.type))) {
+      setImageFormErrors({ file: 'نوع الملف غير مدعوم. يجب أن يكون jpg, png, أو webp' });
+      return;
+    }
+    // Validate file sizes (5MB max each)
+    if (files.some((file) => file.size > 5 * 1024 * 1024)) {
+      setImageFormErrors({ file: 'حجم الملف كبير جداً. الحد الأقصى 5 ميجابايت' });
+      return;
+    }
+    if (files.length > 20) {
+      setImageFormErrors({ file: 'يمكن رفع 20 صورة كحد أقصى في المرة الواحدة' });
+      return;
     }
+
+    const previewUrls = files.map((file) => URL.createObjectURL(file));
+    setImageFormData({ ...imageFormData, files, previewUrls });
+    setImageFormErrors({});
   };
 
   const validateImageForm = () => {
@@ -473,7 +477,7 @@ const AdminProducts = () => {
     if (imageFormData.uploadMode === 'url') {
       if (!imageFormData.url.trim()) errors.url = 'رابط الصورة مطلوب';
     } else {
-      if (!imageFormData.file) errors.file = 'يرجى اختيار صورة';
+      if (imageFormData.files.length === 0) errors.file = 'يرجى اختيار صورة';
     }
     setImageFormErrors(errors);
     return Object.keys(errors).length === 0;
@@ -485,14 +489,17 @@ const AdminProducts = () => {
 
     try {
       setSubmitting(true);
-      let imageUrl = imageFormData.url;
+      const sortOrder = parseInt(imageFormData.sortOrder) || 0;
 
-      // If file mode, upload file first
-      if (imageFormData.uploadMode === 'file' && imageFormData.file) {
+      if (imageFormData.uploadMode === 'file') {
+        // All selected files in one request; sort orders follow selection order
         setUploading(true);
         try {
-          const uploadResponse = await adminApi.uploadImage(imageFormData.file);
-          imageUrl = uploadResponse.data.url;
+          await adminApi.uploadImages(
+            managingProduct.id,
+            imageFormData.files,
+            sortOrder > 0 ? sortOrder : undefined
+          );
         } catch (uploadError) {
           const message = uploadError.response?.data?.message || 'فشل رفع الصورة';
           showToast(message, 'error');
@@ -500,14 +507,9 @@ const AdminProducts = () => {
         } finally {
           setUploading(false);
         }
+      } else {
+        await adminApi.addImage(managingProduct.id, { url: imageFormData.url, sortOrder });
       }
-
-      const payload = {
-        url: imageUrl,
-        sortOrder: parseInt(imageFormData.sortOrder) || 0,
-      };
-
-      await adminApi.addImage(managingProduct.id, payload);
       showToast('تم إضافة الصورة بنجاح', 'success');
       handleCloseImageModal();
       await loadImages(managingProduct.id);
@@ -1154,7 +1156,7 @@ const AdminProducts = () => {
             </button>
             <button
               type="button"
-              onClick={() => setImageFormData({ ...imageFormData, uploadMode: 'url', file: null, previewUrl: '' })}
+              onClick={() => setImageFormData({ ...imageFormData, uploadMode: 'url', files: [], previewUrls: [] })}
               className={`px-4 py-2 text-sm font-medium transition ${
                 imageFormData.uploadMode === 'url'
                   ? 'border-b-2 border-berry-500 text-berry-600'
@@ -1169,29 +1171,35 @@ const AdminProducts = () => {
           {imageFormData.uploadMode === 'file' && (
             <div>
               <label className="block text-sm font-medium text-charcoal-700 mb-2">
-                اختر صورة
+                اختر صورة أو أكثر
               </label>
               <input
                 type="file"
+                multiple
                 accept="image/jpeg,image/png,image/webp,image/jpg"
                 onChange={handleFileChange}
                 disabled={submitting || uploading}
                 className="w-full px-4 py-3 bg-white border border-charcoal-200 rounded-lg text-sm text-charcoal-800 focus:outline-none focus:ring-2 focus:ring-rose-100 focus:border-rose-300 disabled:opacity-50 file:mr-4 file:py-2 file:px-4 file:rounded-lg file:border-0 file:text-sm file:font-medium file:bg-berry-50 file:text-berry-600 hover:file:bg-berry-100"
               />
-              <p className="text-xs text-gray-500 mt-1">الحد الأقصى 5 ميجابايت. الأنواع المدعومة: jpg, png, webp</p>
+              <p className="text-xs text-gray-500 mt-1">الحد الأقصى 5 ميجابايت للصورة و 20 صورة. الأنواع المدعومة: jpg, png, webp</p>
               {imageFormErrors.file && (
                 <p className="text-berry-500 text-xs mt-1.5">{imageFormErrors.file}</p>
               )}
 
               {/* File Preview */}
-              {imageFormData.previewUrl && (
+              {imageFormData.previewUrls.length > 0 && (
                 <div className="border border-gray-200 rounded-lg p-2 mt-3">
                   <p className="text-xs text-gray-600 mb-2">معاينة:</p>
-                  <img
-                    src={imageFormData.previewUrl}
-                    alt="Preview"
-                    className="w-full h-48 object-cover rounded-lg"
-                  />
+                  <div className={imageFormData.previewUrls.length > 1 ? 'grid grid-cols-3 gap-2' : ''}>
+                    {imageFormData.previewUrls.map((previewUrl) => (
+                      <img
+                        key={previewUrl}
+                        src={previewUrl}
+                        alt="Preview"
+                        className={`w-full object-cover rounded-lg ${imageFormData.previewUrls.length > 1 ? 'h-24' : 'h-48'}`}
+                      />
+                    ))}
+                  </div>
                 </div>
               )}
             </div>
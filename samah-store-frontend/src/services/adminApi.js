@@ -290,6 +290,25 @@ export const adminApi = {
     return api.post(`/api/admin/products/${productId}/images`, data);
   },
 
+  /**
+   * Upload several image files and add them to a product in one request
+   * POST /api/admin/products/{productId}/images/bulk
+   * @param {number} productId - Product ID
+   * @param {File[]} files - Image files (jpg, png, webp), kept in this order
+   * @param {number} [startSortOrder] - Sort order of the first file; defaults to after the existing images
+   * @returns {Promise<Array<{id: number, url: string, sortOrder: number}>>}
+   */
+  uploadImages: (productId, files, startSortOrder) => {
+    const formData = new FormData();
+    files.forEach((file) => formData.append('files', file));
+    return api.post(`/api/admin/products/${productId}/images/bulk`, formData, {
+      params: startSortOrder != null ? { startSortOrder } : undefined,
+      headers: {
+        'Content-Type': 'multipart/form-data',
+      },
+    });
+  },
+
   /**
    * Delete product image
    * DELETE /api/admin/products/{productId}/images/{imageId}
@@ -1,8 +1,10 @@
 import api from './api';
 
 export const ordersApi = {
-  placeOrder: async (orderData) => {
-    const { data } = await api.post('/api/orders', orderData);
+  // idempotencyKey: reuse the same key when retrying one checkout so it is placed only once
+  placeOrder: async (orderData, idempotencyKey) => {
+    const headers = idempotencyKey ? { 'Idempotency-Key': idempotencyKey } : undefined;
+    const { data } = await api.post('/api/orders', orderData, { headers });
     return data;
   },
 
@@ -0,0 +1,55 @@
+package com.samah.store.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Background work configuration.
+ *
+ * EXECUTORS:
+ * ----------
+ * | Bean                | Threads | Queue | When full                    |
+ * |---------------------|---------|-------|------------------------------|
+ * | passwordHashing     | cores/2 | 32    | rejected; caller answers 503 |
+ * | imageProcessing     | 2       | 8     | rejected; upload answers 503 |
+ *
+ * Executors are bounded so a burst of requests can never exhaust memory or DB connections;
+ * work that does not fit is rejected and the caller sheds it.
+ *
+ * passwordHashingExecutor caps how many cores BCrypt may burn at once, so a login burst
+ * queues (and then sheds) auth requests instead of starving catalog traffic.
+ * imageProcessingExecutor is small because each decoded upload can take tens of MB of heap.
+ */
+@Configuration
+@EnableScheduling
+public class AsyncConfig {
+
+    @Bean(name = "passwordHashingExecutor")
+    public ThreadPoolTaskExecutor passwordHashingExecutor(
+            @Value("${app.security.password-hashing.threads:0}") int threads,
+            @Value("${app.security.password-hashing.queue-capacity:32}") int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("password-hashing-");
+        // Default AbortPolicy: a full queue throws TaskRejectedException instead of running on the caller
+        return executor;
+    }
+
+    @Bean(name = "imageProcessingExecutor")
+    public ThreadPoolTaskExecutor imageProcessingExecutor(
+            @Value("${app.upload.renditions.threads:2}") int threads,
+            @Value("${app.upload.renditions.queue-capacity:8}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("image-processing-");
+        return executor;
+    }
+}
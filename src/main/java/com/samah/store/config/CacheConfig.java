@@ -20,12 +20,18 @@ import java.util.concurrent.TimeUnit;
  * |-------------|-------|----------|------------------|-------------------------------|
  * | categories  | 5 min | 10       | 'public'         | create/update/delete category |
  * | hero        | 5 min | 10       | 'public'         | updateHero                    |
+ * | categoriesJson | 5 min | 10    | 'public'         | same as categories            |
+ * | heroJson    | 5 min | 10       | 'public'         | same as hero                  |
+ * | productDetail | 10 min | 2000   | product slug     | product/variant/image/stock   |
+ * |             |       |          |                  | writes, category changes      |
  *
  * SAFETY NOTES:
  * - All cached data is PUBLIC (no user-specific data)
  * - TTL=5min ensures stale data is refreshed reasonably fast
  * - @CacheEvict on all write paths ensures immediate invalidation
  * - No risk of key explosion: fixed keys ('public'), not dynamic
+ * - productDetail is the one slug-keyed cache; it is bounded by maximumSize and
+ *   evicted through ProductDetailCache rather than @CacheEvict (writes are by id)
  */
 @Configuration
 @EnableCaching
@@ -34,16 +40,25 @@ public class CacheConfig {
     // Explicit cache names to prevent typos
     public static final String CACHE_CATEGORIES = "categories";
     public static final String CACHE_HERO = "hero";
+    // Pre-serialized response bodies (see PublicResponseCache)
+    public static final String CACHE_CATEGORIES_JSON = "categoriesJson";
+    public static final String CACHE_HERO_JSON = "heroJson";
+    public static final String CACHE_PRODUCT_DETAIL = "productDetail";
 
     @Bean
     public CacheManager cacheManager() {
         CaffeineCacheManager cacheManager = new CaffeineCacheManager();
         // Register only known cache names to prevent accidental cache creation
-        cacheManager.setCacheNames(List.of(CACHE_CATEGORIES, CACHE_HERO));
+        cacheManager.setCacheNames(List.of(CACHE_CATEGORIES, CACHE_HERO, CACHE_CATEGORIES_JSON, CACHE_HERO_JSON));
         cacheManager.setCaffeine(Caffeine.newBuilder()
                 .expireAfterWrite(5, TimeUnit.MINUTES)  // Short TTL for safety
                 .maximumSize(10)                         // Very small - only fixed keys
                 .recordStats());                         // Enable stats for monitoring
+        cacheManager.registerCustomCache(CACHE_PRODUCT_DETAIL, Caffeine.newBuilder()
+                .expireAfterWrite(10, TimeUnit.MINUTES)  // Safety net; writes evict precisely
+                .maximumSize(2000)                       // One entry per hot product slug
+                .recordStats()
+                .build());
         return cacheManager;
     }
 }
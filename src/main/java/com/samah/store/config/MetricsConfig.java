@@ -0,0 +1,48 @@
+package com.samah.store.config;
+
+import com.samah.store.security.AuthRateLimiter;
+import com.samah.store.security.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Application meters published on /actuator/prometheus (management port, see application.yaml).
+ *
+ * Provided by Spring Boot, configured in application.yaml:
+ * - http.server.requests   per route template, method, status; histogram + p50/p95/p99
+ * - cache.*                every cache in CacheConfig (all built with recordStats())
+ * - hikaricp.connections.* connection pool
+ * - executor.*             passwordHashingExecutor, imageProcessingExecutor (AsyncConfig)
+ * - jvm.*, process.*, system.*
+ *
+ * Bound here:
+ * - auth.password_hashing.* rejected / timed-out hashes (BoundedPasswordEncoder)
+ * - auth.rate_limit.rejected per limit (AuthRateLimiter)
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder passwordHashingMetrics(BoundedPasswordEncoder passwordEncoder) {
+        return registry -> {
+            FunctionCounter.builder("auth.password_hashing.rejected", passwordEncoder, e -> e.stats().rejected())
+                    .description("Hash requests refused because the hashing queue was full")
+                    .register(registry);
+            FunctionCounter.builder("auth.password_hashing.timed_out", passwordEncoder, e -> e.stats().timedOut())
+                    .description("Hash requests that waited longer than max-wait-ms")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder authRateLimitMetrics(AuthRateLimiter rateLimiter) {
+        return registry -> rateLimiter.stats().rejected().keySet().forEach(limit ->
+                FunctionCounter.builder("auth.rate_limit.rejected", rateLimiter,
+                                l -> l.stats().rejected().getOrDefault(limit, 0L))
+                        .tag("limit", limit)
+                        .description("Auth requests answered 429")
+                        .register(registry));
+    }
+}
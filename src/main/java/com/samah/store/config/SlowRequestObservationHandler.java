@@ -0,0 +1,64 @@
+package com.samah.store.config;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Logs slow API requests, hooked into the same observation that records the
+ * http.server.requests timers (see MetricsConfig), so there is one clock per request.
+ *
+ * Behavior:
+ * - Slow requests (>threshold): logged at WARN with the route template and status
+ * - Fast requests: logged at DEBUG (disabled in prod)
+ *
+ * Configure threshold via: app.perf.slow-request-threshold-ms (default: 200ms)
+ */
+@Component
+public class SlowRequestObservationHandler implements ObservationHandler<ServerRequestObservationContext> {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowRequestObservationHandler.class);
+    private static final String START_NANOS = SlowRequestObservationHandler.class.getName() + ".start";
+
+    private final long slowRequestThresholdNanos;
+
+    public SlowRequestObservationHandler(@Value("${app.perf.slow-request-threshold-ms:200}") long slowRequestThresholdMs) {
+        this.slowRequestThresholdNanos = slowRequestThresholdMs * 1_000_000;
+    }
+
+    @Override
+    public void onStart(ServerRequestObservationContext context) {
+        context.put(START_NANOS, System.nanoTime());
+    }
+
+    @Override
+    public void onStop(ServerRequestObservationContext context) {
+        Long start = context.get(START_NANOS);
+        String uri = context.getCarrier().getRequestURI();
+        if (start == null || !uri.startsWith("/api/")) {
+            return;
+        }
+        long durationNanos = System.nanoTime() - start;
+        if (durationNanos > slowRequestThresholdNanos) {
+            log.warn("[PERF-SLOW] {} {} ({}) took {}ms (status={}, threshold={}ms)",
+                    context.getCarrier().getMethod(), uri, context.getPathPattern(), durationNanos / 1_000_000,
+                    status(context), slowRequestThresholdNanos / 1_000_000);
+        } else if (log.isDebugEnabled()) {
+            log.debug("[PERF] {} {} completed in {}ms (status={})",
+                    context.getCarrier().getMethod(), uri, durationNanos / 1_000_000, status(context));
+        }
+    }
+
+    @Override
+    public boolean supportsContext(Observation.Context context) {
+        return context instanceof ServerRequestObservationContext;
+    }
+
+    private static int status(ServerRequestObservationContext context) {
+        return context.getResponse() != null ? context.getResponse().getStatus() : 0;
+    }
+}
@@ -1,27 +1,24 @@
 package com.samah.store.config;
 
-import org.springframework.beans.factory.annotation.Value;
+import com.samah.store.controller.UploadsRequestHandler;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
-import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.handler.SimpleUrlHandlerMapping;
 
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.util.Map;
 
+/**
+ * Single registration for uploaded files: /uploads/** is served by {@link UploadsRequestHandler}
+ * (ETags, ranges, immutable caching, sendfile) instead of a default resource handler.
+ */
 @Configuration
-public class StaticResourceConfig implements WebMvcConfigurer {
+public class StaticResourceConfig {
 
-    @Value("${app.upload.dir:uploads}")
-    private String uploadDir;
-
-    @Override
-    public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        // Serve uploaded files from /uploads/**
-        Path uploadPath = Paths.get(uploadDir).toAbsolutePath().normalize();
-        String uploadLocation = "file:" + uploadPath.toString() + "/";
-
-        registry.addResourceHandler("/uploads/**")
-                .addResourceLocations(uploadLocation);
+    @Bean
+    public SimpleUrlHandlerMapping uploadsHandlerMapping(UploadsRequestHandler uploadsRequestHandler) {
+        // Ahead of annotated controllers, so the SPA fallback can never claim an upload path
+        return new SimpleUrlHandlerMapping(
+                Map.of(UploadsRequestHandler.PATH_PREFIX + "**", uploadsRequestHandler), Ordered.HIGHEST_PRECEDENCE);
     }
 }
-
@@ -1,12 +1,24 @@
 package com.samah.store.controller;
 
+import com.samah.store.domain.enums.OrderStatus;
 import com.samah.store.dto.AdminMetricsDto;
+import com.samah.store.dto.DailyCitySalesDto;
+import com.samah.store.dto.DailySalesPointDto;
+import com.samah.store.dto.DailyVariantSalesDto;
+import com.samah.store.security.AuthRateLimiter;
+import com.samah.store.security.BoundedPasswordEncoder;
+import com.samah.store.security.RefreshTokenPurger;
 import com.samah.store.service.AdminMetricsService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
 @RestController
 @RequestMapping("/api/admin/metrics")
 @PreAuthorize("hasRole('ADMIN')")
@@ -14,12 +26,60 @@ import org.springframework.web.bind.annotation.*;
 public class AdminMetricsController {
 
     private final AdminMetricsService metricsService;
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final AuthRateLimiter authRateLimiter;
+    private final RefreshTokenPurger refreshTokenPurger;
 
     @GetMapping
     public ResponseEntity<AdminMetricsDto> getMetrics() {
         return ResponseEntity.ok(metricsService.getMetrics());
     }
 
+    /**
+     * Orders, revenue (sum of order totals) and units per day from the daily rollup.
+     * GET /api/admin/metrics/daily?from=2025-01-01&to=2025-01-31&status=DELIVERED
+     */
+    @GetMapping("/daily")
+    public List<DailySalesPointDto> daily(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(name = "status", required = false) Set<OrderStatus> statuses) {
+        return metricsService.getDailySales(from, to, statuses);
+    }
+
+    @GetMapping("/daily/variants")
+    public List<DailyVariantSalesDto> dailyTopVariants(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(name = "status", required = false) Set<OrderStatus> statuses,
+            @RequestParam(defaultValue = "20") int limit) {
+        return metricsService.getTopVariants(from, to, statuses, limit);
+    }
+
+    @GetMapping("/daily/cities")
+    public List<DailyCitySalesDto> dailyCities(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(name = "status", required = false) Set<OrderStatus> statuses) {
+        return metricsService.getCitySales(from, to, statuses);
+    }
+
+    @GetMapping("/password-hashing")
+    public BoundedPasswordEncoder.Stats passwordHashing() {
+        return passwordEncoder.stats();
+    }
+
+    @GetMapping("/auth-rate-limit")
+    public AuthRateLimiter.Stats authRateLimit() {
+        return authRateLimiter.stats();
+    }
+
+    @GetMapping("/refresh-token-purge")
+    public ResponseEntity<RefreshTokenPurger.LastRun> refreshTokenPurge() {
+        RefreshTokenPurger.LastRun lastRun = refreshTokenPurger.lastRun();
+        return lastRun == null ? ResponseEntity.noContent().build() : ResponseEntity.ok(lastRun);
+    }
+
     @PostMapping("/revenue-reset")
     public ResponseEntity<Void> resetRevenue() {
         metricsService.resetRevenue();
@@ -2,14 +2,24 @@ package com.samah.store.controller;
 
 import com.samah.store.dto.admin.AdminImageRequest;
 import com.samah.store.dto.admin.AdminImageResponse;
+import com.samah.store.exception.BadRequestException;
 import com.samah.store.service.AdminCatalogService;
+import com.samah.store.service.image.ImageRenditionService;
+import com.samah.store.service.image.ImageUploadStorage;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 
 @RestController
@@ -19,6 +29,14 @@ import java.util.List;
 public class AdminProductImageController {
 
     private final AdminCatalogService catalogService;
+    private final ImageUploadStorage uploadStorage;
+    private final ImageRenditionService renditionService;
+
+    @Value("${app.upload.bulk.max-files:20}")
+    private int maxBulkFiles;
+
+    @Value("${app.upload.bulk.max-request-size:100MB}")
+    private DataSize maxBulkRequestSize;
 
     @GetMapping
     public ResponseEntity<List<AdminImageResponse>> list(@PathVariable Long productId) {
@@ -32,10 +50,60 @@ public class AdminProductImageController {
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
+    /**
+     * Multipart field {@code files}, repeated. Each file is streamed into storage as it arrives and
+     * its renditions start on the image pool while the next one is read. All rows are then inserted
+     * in one transaction with consecutive sort orders, after the existing images unless
+     * {@code ?startSortOrder=} is given.
+     */
+    @PostMapping(path = "/bulk", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<List<AdminImageResponse>> addBulk(@PathVariable Long productId, HttpServletRequest request) {
+        Integer startSortOrder = startSortOrder(request);
+        // Before reading the body: an unknown product must not cost storage and image decoding
+        catalogService.requireProduct(productId);
+        List<String> urls = new ArrayList<>();
+        ImageRenditionService.Batch renditions = renditionService.newBatch();
+        try {
+            MultipartFileStream.forEachFile(request, "files", maxBulkRequestSize.toBytes(), maxBulkFiles, content -> {
+                ImageUploadStorage.StoredImage stored = uploadStorage.store(content);
+                if (!stored.deduplicated() || !renditionService.hasRenditions(stored.path())) {
+                    renditions.submit(stored.path());
+                }
+                urls.add(stored.url());
+            });
+        } catch (IOException e) {
+            renditions.cancel();
+            throw new BadRequestException("فشل رفع الملف: " + e.getMessage());
+        } catch (RuntimeException e) {
+            renditions.cancel();
+            throw e;
+        }
+        renditions.await();
+
+        if (urls.isEmpty()) {
+            throw new BadRequestException("لم يتم اختيار أي صورة");
+        }
+        List<AdminImageResponse> created = catalogService.addImages(productId, urls, startSortOrder);
+        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+    }
+
     @DeleteMapping("/{imageId}")
     public ResponseEntity<Void> remove(@PathVariable Long productId, @PathVariable Long imageId) {
         catalogService.removeImage(productId, imageId);
         return ResponseEntity.noContent().build();
     }
-}
 
+    // From the query string only: request.getParameter() would make the container parse the whole multipart body
+    private static Integer startSortOrder(HttpServletRequest request) {
+        String value = UriComponentsBuilder.newInstance().query(request.getQueryString()).build()
+                .getQueryParams().getFirst("startSortOrder");
+        if (value == null || value.isBlank()) return null;
+        try {
+            int sortOrder = Integer.parseInt(value.trim());
+            if (sortOrder < 0) throw new BadRequestException("Sort order cannot be negative");
+            return sortOrder;
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Invalid sort order: " + value);
+        }
+    }
+}
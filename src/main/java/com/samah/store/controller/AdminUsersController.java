@@ -9,6 +9,7 @@ import com.samah.store.exception.BadRequestException;
 import com.samah.store.exception.ConflictException;
 import com.samah.store.exception.NotFoundException;
 import com.samah.store.repository.UserRepository;
+import com.samah.store.security.PrincipalCache;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -22,10 +23,13 @@ import org.springframework.web.bind.annotation.*;
 public class AdminUsersController {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final PrincipalCache principalCache;
 
-    public AdminUsersController(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public AdminUsersController(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                                PrincipalCache principalCache) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.principalCache = principalCache;
     }
 
     /**
@@ -99,6 +103,7 @@ public class AdminUsersController {
         user.setEnabled(false);
         user.setTokenVersion(user.getTokenVersion() + 1); // يبطل كل التوكنات فوراً
         userRepository.save(user);
+        principalCache.evict(id);
 
         return ResponseEntity.noContent().build();
     }
@@ -110,6 +115,7 @@ public class AdminUsersController {
 
         user.setEnabled(true);
         userRepository.save(user);
+        principalCache.evict(id);
 
         return ResponseEntity.noContent().build();
     }
@@ -126,6 +132,7 @@ public class AdminUsersController {
         user.setRole(role);
         user.setTokenVersion(user.getTokenVersion() + 1); // إعادة تسجيل الدخول مطلوبة
         User saved = userRepository.save(user);
+        principalCache.evict(id);
 
         return new EmployeeInfoDto(saved.getId(), saved.getUsername(), saved.getEmail(), saved.isEnabled());
     }
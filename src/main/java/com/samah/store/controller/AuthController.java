@@ -5,6 +5,7 @@ import com.samah.store.dto.AuthResponse;
 import com.samah.store.dto.LoginRequest;
 import com.samah.store.dto.RegisterRequest;
 import com.samah.store.repository.UserRepository;
+import com.samah.store.security.AuthRateLimiter;
 import com.samah.store.security.JwtService;
 import com.samah.store.security.RefreshTokenService;
 import jakarta.servlet.http.Cookie;
@@ -26,15 +27,18 @@ public class AuthController {
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final RefreshTokenService refreshTokenService;
+    private final AuthRateLimiter rateLimiter;
 
     public AuthController(UserRepository userRepository,
                           PasswordEncoder passwordEncoder,
                           JwtService jwtService,
-                          RefreshTokenService refreshTokenService) {
+                          RefreshTokenService refreshTokenService,
+                          AuthRateLimiter rateLimiter) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtService = jwtService;
         this.refreshTokenService = refreshTokenService;
+        this.rateLimiter = rateLimiter;
     }
 
     @PostMapping("/register")
@@ -70,6 +74,8 @@ public class AuthController {
     public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest req,
                                               HttpServletRequest httpReq,
                                               HttpServletResponse httpRes) {
+        // Per-IP limits run in AuthRateLimitFilter; this one needs the body
+        rateLimiter.checkLoginAccount(req.usernameOrEmail());
 
         Optional<User> userOpt = req.usernameOrEmail().contains("@")
                 ? userRepository.findByEmail(req.usernameOrEmail())
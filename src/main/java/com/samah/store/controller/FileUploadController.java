@@ -2,19 +2,19 @@ package com.samah.store.controller;
 
 import com.samah.store.dto.admin.AdminImageResponse;
 import com.samah.store.exception.BadRequestException;
+import com.samah.store.service.image.ImageRenditionService;
+import com.samah.store.service.image.ImageUploadStorage;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
-import java.util.UUID;
+import java.util.ArrayList;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/admin/upload")
@@ -22,68 +22,42 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class FileUploadController {
 
-    @Value("${app.upload.dir:uploads}")
-    private String uploadDir;
+    private final ImageUploadStorage uploadStorage;
+    private final ImageRenditionService renditionService;
 
-    @Value("${app.upload.base-url:/uploads}")
-    private String baseUrl;
+    @Value("${app.upload.max-request-size:10MB}")
+    private DataSize maxRequestSize;
 
+    /**
+     * Multipart field {@code file}. The body is streamed into storage as it arrives; the format is
+     * taken from the file's magic bytes, not the declared Content-Type.
+     */
     @PostMapping("/image")
-    public ResponseEntity<UploadResponse> uploadImage(@RequestParam("file") MultipartFile file) {
-        if (file.isEmpty()) {
-            throw new BadRequestException("الملف فارغ");
-        }
-
-        // Validate file type
-        String contentType = file.getContentType();
-        if (contentType == null || !isImageType(contentType)) {
-            throw new BadRequestException("نوع الملف غير مدعوم. يجب أن يكون jpg, png, أو webp");
-        }
-
-        // Validate file size (max 5MB)
-        if (file.getSize() > 5 * 1024 * 1024) {
-            throw new BadRequestException("حجم الملف كبير جداً. الحد الأقصى 5 ميجابايت");
-        }
-
+    public ResponseEntity<UploadResponse> uploadImage(HttpServletRequest request) {
+        List<UploadResponse> uploaded = new ArrayList<>(1);
         try {
-            // Create upload directory if not exists
-            Path uploadPath = Paths.get(uploadDir);
-            if (!Files.exists(uploadPath)) {
-                Files.createDirectories(uploadPath);
-            }
-
-            // Generate unique filename
-            String originalFilename = file.getOriginalFilename();
-            String extension = getFileExtension(originalFilename);
-            String newFilename = UUID.randomUUID().toString() + extension;
-
-            // Save file
-            Path filePath = uploadPath.resolve(newFilename);
-            Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
-
-            // Return URL
-            String fileUrl = baseUrl + "/" + newFilename;
-            return ResponseEntity.ok(new UploadResponse(fileUrl, newFilename));
-
+            MultipartFileStream.forEachFile(request, "file", maxRequestSize.toBytes(), 1, content -> {
+                // Stored under a hash of its bytes: re-uploads dedupe to the same file and URL
+                ImageUploadStorage.StoredImage stored = uploadStorage.store(content);
+
+                // Thumbnail/detail/zoom JPEGs next to the original
+                if (!stored.deduplicated() || !renditionService.hasRenditions(stored.path())) {
+                    renditionService.generate(stored.path());
+                }
+
+                ImageRenditionService.RenditionUrls renditions = renditionService.urlsFor(stored.url());
+                uploaded.add(new UploadResponse(stored.url(), stored.fileName(),
+                        renditions.thumbnail(), renditions.detail(), renditions.zoom()));
+            });
         } catch (IOException e) {
             throw new BadRequestException("فشل رفع الملف: " + e.getMessage());
         }
-    }
-
-    private boolean isImageType(String contentType) {
-        return contentType.equals("image/jpeg") ||
-               contentType.equals("image/png") ||
-               contentType.equals("image/webp") ||
-               contentType.equals("image/jpg");
-    }
-
-    private String getFileExtension(String filename) {
-        if (filename == null || !filename.contains(".")) {
-            return ".jpg";
+        if (uploaded.isEmpty()) {
+            throw new BadRequestException("الملف فارغ");
         }
-        return filename.substring(filename.lastIndexOf("."));
+        return ResponseEntity.ok(uploaded.get(0));
     }
 
-    public record UploadResponse(String url, String filename) {}
+    public record UploadResponse(String url, String filename, String thumbnailUrl, String detailUrl, String zoomUrl) {}
 }
 
@@ -1,7 +1,6 @@
 package com.samah.store.controller;
 
-import com.samah.store.dto.HeroSettingsResponseDto;
-import com.samah.store.service.HeroSettingsService;
+import com.samah.store.service.cache.PublicResponseCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
@@ -17,24 +16,12 @@ import java.util.concurrent.TimeUnit;
 @RequiredArgsConstructor
 public class HeroPublicController {
 
-    private final HeroSettingsService heroSettingsService;
+    private final PublicResponseCache publicResponseCache;
 
     @GetMapping
-    public ResponseEntity<HeroSettingsResponseDto> getHero(WebRequest request) {
-        HeroSettingsResponseDto hero = heroSettingsService.getPublicHero();
-
-        // Use updatedAt timestamp for ETag if available, otherwise hash
-        String etag = hero.updatedAt() != null
-                ? "\"" + hero.updatedAt().toEpochMilli() + "\""
-                : "\"" + Integer.toHexString(hero.hashCode()) + "\"";
-
-        if (request.checkNotModified(etag)) {
-            return ResponseEntity.status(304).build();
-        }
-
-        return ResponseEntity.ok()
-                .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic())
-                .eTag(etag)
-                .body(hero);
+    public ResponseEntity<byte[]> getHero(WebRequest request) {
+        // Pre-serialized HeroSettingsResponseDto with its updatedAt-based ETag
+        return SerializedJsonResponses.of(publicResponseCache.hero(), request,
+                CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic());
     }
 }
@@ -0,0 +1,82 @@
+package com.samah.store.controller;
+
+import com.samah.store.exception.BadRequestException;
+import jakarta.servlet.http.HttpServletRequest;
+import org.apache.tomcat.util.http.fileupload.FileItemIterator;
+import org.apache.tomcat.util.http.fileupload.FileItemStream;
+import org.apache.tomcat.util.http.fileupload.FileUpload;
+import org.apache.tomcat.util.http.fileupload.FileUploadException;
+import org.apache.tomcat.util.http.fileupload.impl.SizeException;
+import org.apache.tomcat.util.http.fileupload.servlet.ServletRequestContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+
+/**
+ * Streams the file parts of a multipart/form-data request one at a time, straight off the socket.
+ *
+ * Multipart resolution is lazy (spring.servlet.multipart.resolve-lazily), so endpoints that take
+ * the raw request instead of MultipartFile are never buffered to temp files first. Each part's
+ * stream is only valid inside the consumer; form fields and parts named other than
+ * {@code fieldName} are skipped.
+ */
+final class MultipartFileStream {
+
+    @FunctionalInterface
+    interface PartConsumer {
+        void accept(InputStream content) throws IOException;
+    }
+
+    private MultipartFileStream() {
+    }
+
+    /**
+     * @param maxRequestBytes limit on the whole request body, checked against Content-Length up front
+     *                        and against the bytes actually read while streaming
+     * @param maxParts        more file parts than this is a bad request
+     * @return number of file parts consumed
+     */
+    static int forEachFile(HttpServletRequest request, String fieldName, long maxRequestBytes, int maxParts,
+                           PartConsumer consumer) throws IOException {
+        String contentType = request.getContentType();
+        if (contentType == null || !contentType.toLowerCase(Locale.ROOT).startsWith("multipart/form-data")) {
+            throw new BadRequestException("يجب إرسال الملف كـ multipart/form-data");
+        }
+
+        FileUpload upload = new FileUpload();
+        upload.setSizeMax(maxRequestBytes);
+        int count = 0;
+        try {
+            FileItemIterator parts = upload.getItemIterator(new ServletRequestContext(request));
+            while (parts.hasNext()) {
+                FileItemStream part = parts.next();
+                if (part.isFormField() || !fieldName.equals(part.getFieldName())) {
+                    continue; // unread content is skipped by the iterator
+                }
+                if (++count > maxParts) {
+                    throw new BadRequestException("عدد الملفات كبير جداً. الحد الأقصى " + maxParts);
+                }
+                try (InputStream in = part.openStream()) {
+                    consumer.accept(in);
+                }
+            }
+        } catch (SizeException e) {
+            throw tooLarge(maxRequestBytes);
+        } catch (FileUploadException e) {
+            throw new BadRequestException("طلب رفع غير صالح");
+        } catch (IOException e) {
+            // Limit violations found mid-stream surface as IOExceptions wrapping the SizeException
+            if (e.getCause() instanceof SizeException) {
+                throw tooLarge(maxRequestBytes);
+            }
+            throw e;
+        }
+        return count;
+    }
+
+    private static BadRequestException tooLarge(long maxRequestBytes) {
+        return new BadRequestException("حجم الطلب كبير جداً. الحد الأقصى "
+                + maxRequestBytes / (1024 * 1024) + " ميجابايت");
+    }
+}
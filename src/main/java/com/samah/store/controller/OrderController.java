@@ -1,35 +1,48 @@
 package com.samah.store.controller;
 
+import com.samah.store.domain.enums.OrderStatus;
 import com.samah.store.dto.AdminOrderStatusUpdateRequest;
+import com.samah.store.dto.OrderCursorPageDto;
 import com.samah.store.dto.OrderDto;
 import com.samah.store.dto.OrderPlaceRequest;
 import com.samah.store.exception.NotFoundException;
 import com.samah.store.repository.UserRepository;
 import com.samah.store.service.OrderService;
+import com.samah.store.service.checkout.IdempotentCheckout;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Instant;
+import java.util.List;
+
 @RestController
 @RequestMapping("/api")
 public class OrderController {
 
     private final OrderService orderService;
     private final UserRepository userRepository;
+    private final IdempotentCheckout idempotentCheckout;
 
-    public OrderController(OrderService orderService, UserRepository userRepository) {
+    public OrderController(OrderService orderService, UserRepository userRepository,
+                           IdempotentCheckout idempotentCheckout) {
         this.orderService = orderService;
         this.userRepository = userRepository;
+        this.idempotentCheckout = idempotentCheckout;
     }
 
     @PostMapping("/orders")
     @PreAuthorize("hasRole('CUSTOMER')")
-    public OrderDto placeOrder(Authentication auth, @Valid @RequestBody OrderPlaceRequest request) {
+    public OrderDto placeOrder(Authentication auth,
+                               @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+                               @Valid @RequestBody OrderPlaceRequest request) {
         Long userId = resolveUserId(auth.getName());
-        return orderService.placeOrder(userId, request);
+        // Retries with the same key return the first order instead of placing another
+        return idempotentCheckout.placeOrder(userId, request, idempotencyKey);
     }
 
     @GetMapping("/orders/me")
@@ -55,6 +68,22 @@ public class OrderController {
         return orderService.listAll(pageable);
     }
 
+    /**
+     * Seek-paginated admin feed for long order histories: newest first, nextCursor instead of totals.
+     * Example: /api/admin/orders/feed?status=NEW&status=PROCESSING&employeeId=7&from=2025-01-01T00:00:00Z
+     */
+    @GetMapping("/admin/orders/feed")
+    @PreAuthorize("hasRole('ADMIN')")
+    public OrderCursorPageDto adminOrderFeed(
+            @RequestParam(required = false) List<OrderStatus> status,
+            @RequestParam(required = false) Long employeeId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return orderService.adminFeed(status, employeeId, from, to, cursor, size);
+    }
+
     @PatchMapping("/admin/orders/{id}/status")
     @PreAuthorize("hasRole('ADMIN')")
     public OrderDto updateStatus(@PathVariable Long id, @Valid @RequestBody AdminOrderStatusUpdateRequest request) {
@@ -1,10 +1,11 @@
 package com.samah.store.controller;
 
-import com.samah.store.dto.CategoryDto;
-import com.samah.store.dto.ProductDto;
+import com.samah.store.dto.ProductCursorPageDto;
+import com.samah.store.dto.ProductFacetsDto;
 import com.samah.store.dto.ProductSummaryDto;
-import com.samah.store.service.CategoryService;
 import com.samah.store.service.ProductService;
+import com.samah.store.service.cache.ProductDetailCache;
+import com.samah.store.service.cache.PublicResponseCache;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.CacheControl;
@@ -16,35 +17,28 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.context.request.WebRequest;
 
-import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api")
 public class PublicCatalogController {
 
-    private final CategoryService categoryService;
     private final ProductService productService;
+    private final ProductDetailCache productDetailCache;
+    private final PublicResponseCache publicResponseCache;
 
-    public PublicCatalogController(CategoryService categoryService, ProductService productService) {
-        this.categoryService = categoryService;
+    public PublicCatalogController(ProductService productService, ProductDetailCache productDetailCache,
+                                   PublicResponseCache publicResponseCache) {
         this.productService = productService;
+        this.productDetailCache = productDetailCache;
+        this.publicResponseCache = publicResponseCache;
     }
 
     @GetMapping("/categories")
-    public ResponseEntity<List<CategoryDto>> listCategories(WebRequest request) {
-        List<CategoryDto> categories = categoryService.listPublic();
-
-        // Stable ETag: count + sorted IDs (deterministic across restarts)
-        String etag = generateCategoriesETag(categories);
-        if (request.checkNotModified(etag)) {
-            return ResponseEntity.status(304).build();
-        }
-
-        return ResponseEntity.ok()
-                .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic())
-                .eTag(etag)
-                .body(categories);
+    public ResponseEntity<byte[]> listCategories(WebRequest request) {
+        // Pre-serialized List<CategoryDto> with its ETag: count + max updatedAt
+        return SerializedJsonResponses.of(publicResponseCache.categories(), request,
+                CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic());
     }
 
     @GetMapping("/products")
@@ -60,44 +54,40 @@ public class PublicCatalogController {
                 .body(productService.search(q, categoryId, minPrice, maxPrice, pageable));
     }
 
-    @GetMapping("/products/{slug}")
-    public ResponseEntity<ProductDto> getProduct(@PathVariable String slug, WebRequest request) {
-        ProductDto product = productService.getBySlug(slug);
-
-        // Stable ETag: product ID + updatedAt timestamp
-        String etag = generateProductETag(product);
-        if (request.checkNotModified(etag)) {
-            return ResponseEntity.status(304).build();
-        }
-
+    @GetMapping("/products/facets")
+    public ResponseEntity<ProductFacetsDto> productFacets(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice) {
         return ResponseEntity.ok()
-                .cacheControl(CacheControl.maxAge(2, TimeUnit.MINUTES).cachePublic())
-                .eTag(etag)
-                .body(product);
+                .cacheControl(CacheControl.maxAge(1, TimeUnit.MINUTES).cachePublic())
+                .body(productService.facets(q, categoryId, minPrice, maxPrice));
     }
 
     /**
-     * Generate stable ETag for categories list.
-     * Format: "c{count}-{maxUpdatedAtMs}" e.g. "c3-1706012345678"
-     * Changes when: category added/removed OR any category field updated.
+     * Cursor-based listing for infinite scroll.
+     * Pass the returned nextCursor back unchanged; a null nextCursor means the last page.
      */
-    private String generateCategoriesETag(List<CategoryDto> categories) {
-        long maxUpdatedAt = categories.stream()
-                .map(CategoryDto::updatedAt)
-                .filter(java.util.Objects::nonNull)
-                .mapToLong(java.time.Instant::toEpochMilli)
-                .max()
-                .orElse(0L);
-        return "\"c" + categories.size() + "-" + maxUpdatedAt + "\"";
+    @GetMapping("/products/scroll")
+    public ResponseEntity<ProductCursorPageDto> scrollProducts(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(defaultValue = "newest") String order,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(1, TimeUnit.MINUTES).cachePublic())
+                .body(productService.scroll(q, categoryId, minPrice, maxPrice, order, cursor, size));
     }
 
-    /**
-     * Generate stable ETag for single product.
-     * Format: "p{id}-{updatedAtEpochMilli}" e.g. "p42-1706012345678"
-     * Changes when product is updated.
-     */
-    private String generateProductETag(ProductDto product) {
-        long timestamp = product.updatedAt() != null ? product.updatedAt().toEpochMilli() : 0L;
-        return "\"p" + product.id() + "-" + timestamp + "\"";
+    @GetMapping("/products/{slug}")
+    public ResponseEntity<byte[]> getProduct(@PathVariable String slug, WebRequest request) {
+        // Pre-serialized ProductDto; the ETag is precomputed from its content,
+        // so a 304 or a hot product page never reaches the database
+        return SerializedJsonResponses.of(productDetailCache.get(slug, productService::getBySlug), request,
+                CacheControl.maxAge(2, TimeUnit.MINUTES).cachePublic());
     }
 }
@@ -0,0 +1,37 @@
+package com.samah.store.controller;
+
+import com.samah.store.service.cache.SerializedJson;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Writes a {@link SerializedJson} body as-is: 304 on a matching ETag, the gzip copy
+ * when the client accepts it, the plain UTF-8 bytes otherwise.
+ * Responses that already carry Content-Encoding are left alone by server compression.
+ */
+final class SerializedJsonResponses {
+
+    private SerializedJsonResponses() {
+    }
+
+    static ResponseEntity<byte[]> of(SerializedJson body, WebRequest request, CacheControl cacheControl) {
+        if (request.checkNotModified(body.etag())) {
+            return ResponseEntity.status(304).build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .eTag(body.etag())
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (body.gzip() != null && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(body.gzip());
+        }
+        return response.body(body.json());
+    }
+}
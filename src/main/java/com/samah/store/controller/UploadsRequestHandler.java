@@ -0,0 +1,217 @@
+package com.samah.store.controller;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.HttpRequestHandler;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Serves GET/HEAD /uploads/{file} (registered in StaticResourceConfig).
+ *
+ * Behavior:
+ * - Plain relative names only (including hero/ images), image extensions only; anything else is 404
+ * - Strong ETag + Last-Modified with 304 handling; upload names are content hashes, so every
+ *   response is {@code public, max-age=1y, immutable}
+ * - Single byte ranges (206 / 416, If-Range honored); multi-range requests get the full file
+ * - Bodies go out through Tomcat sendfile when the connector supports it, otherwise through
+ *   FileChannel.transferTo; the file is never read onto the heap
+ * - File attributes are cached per name, so a hot image costs no filesystem calls
+ *
+ * In the docker deployment nginx serves /uploads/ straight from the shared volume and never
+ * proxies it here; nginx/default.conf is configured to match (sendfile, ETags, ranges, immutable
+ * caching, open_file_cache). This handler covers running the app without that proxy.
+ */
+@Component
+public class UploadsRequestHandler implements HttpRequestHandler {
+
+    public static final String PATH_PREFIX = "/uploads/";
+
+    private static final Pattern SAFE_NAME = Pattern.compile("([A-Za-z0-9_-][A-Za-z0-9._-]*/)*[A-Za-z0-9_-][A-Za-z0-9._-]*");
+
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+            "jpg", "image/jpeg",
+            "jpeg", "image/jpeg",
+            "png", "image/png",
+            "webp", "image/webp",
+            "gif", "image/gif");
+
+    // Tomcat's sendfile contract (see org.apache.catalina.servlets.DefaultServlet)
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    private static final long SENDFILE_MIN_BYTES = 48 * 1024; // smaller files fit the socket buffer anyway
+
+    private static final String CACHE_CONTROL =
+            CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable().getHeaderValue();
+
+    private final Path uploadPath;
+
+    private final Cache<String, FileMeta> metadata = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(Duration.ofMinutes(10)) // only guards against files removed out of band
+            .build();
+
+    public UploadsRequestHandler(@Value("${app.upload.dir:uploads}") String uploadDir) {
+        this.uploadPath = Paths.get(uploadDir).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public void handleRequest(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String method = request.getMethod();
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            response.setHeader(HttpHeaders.ALLOW, "GET, HEAD");
+            response.sendError(HttpServletResponse.SC_METHOD_NOT_ALLOWED);
+            return;
+        }
+
+        FileMeta file = lookup(fileName(request));
+        if (file == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader("X-Content-Type-Options", "nosniff");
+        // Sets ETag/Last-Modified and answers 304 for matching conditional requests
+        if (new ServletWebRequest(request, response).checkNotModified(file.etag(), file.lastModified())) {
+            return;
+        }
+        response.setContentType(file.contentType());
+
+        long start = 0;
+        long end = file.length(); // exclusive
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range != null && ifRangeMatches(request, file)) {
+            long[] parsed = parseRange(range, file.length());
+            if (parsed == UNSATISFIABLE) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + file.length());
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            if (parsed != null) {
+                start = parsed[0];
+                end = parsed[1];
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE,
+                        "bytes " + start + "-" + (end - 1) + "/" + file.length());
+            }
+        }
+        response.setContentLengthLong(end - start);
+
+        if ("HEAD".equals(method) || end == start) {
+            return;
+        }
+        if (end - start >= SENDFILE_MIN_BYTES && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // Tomcat streams the file from the kernel after this handler returns
+            request.setAttribute(SENDFILE_FILENAME, file.path().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file.path(), StandardOpenOption.READ)) {
+            OutputStream out = response.getOutputStream();
+            WritableByteChannel target = Channels.newChannel(out);
+            long position = start;
+            while (position < end) {
+                position += channel.transferTo(position, end - position, target);
+            }
+        } catch (NoSuchFileException e) {
+            metadata.invalidate(uploadPath.relativize(file.path()).toString());
+            throw e;
+        }
+    }
+
+    private static String fileName(HttpServletRequest request) {
+        String uri = request.getRequestURI().substring(request.getContextPath().length());
+        if (!uri.startsWith(PATH_PREFIX)) return null;
+        String name = uri.substring(PATH_PREFIX.length());
+        // Plain segments only (e.g. "hero/<uuid>.jpg"): no traversal, encoding tricks or hidden files
+        return SAFE_NAME.matcher(name).matches() && !name.contains("..") ? name : null;
+    }
+
+    private FileMeta lookup(String name) {
+        if (name == null) return null;
+        int dot = name.lastIndexOf('.');
+        String contentType = dot < 0 ? null : CONTENT_TYPES.get(name.substring(dot + 1).toLowerCase(Locale.ROOT));
+        if (contentType == null) return null;
+
+        FileMeta cached = metadata.getIfPresent(name);
+        if (cached != null) return cached;
+        Path path = uploadPath.resolve(name).normalize();
+        if (!path.startsWith(uploadPath)) return null;
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+            if (!attrs.isRegularFile()) return null;
+            // Names never get new content, so name + size is a strong validator
+            String etag = "\"" + name.substring(name.lastIndexOf('/') + 1, dot) + "-" + Long.toHexString(attrs.size()) + "\"";
+            FileMeta meta = new FileMeta(path, attrs.size(), attrs.lastModifiedTime().toMillis(), etag, contentType);
+            metadata.put(name, meta); // missing files are not cached: they may be uploaded later
+            return meta;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static boolean ifRangeMatches(HttpServletRequest request, FileMeta file) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) return true;
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) return ifRange.equals(file.etag());
+        long since = request.getDateHeader(HttpHeaders.IF_RANGE);
+        return since >= 0 && file.lastModified() / 1000 <= since / 1000;
+    }
+
+    private static final long[] UNSATISFIABLE = new long[0];
+
+    /**
+     * @return {start, endExclusive}, {@link #UNSATISFIABLE}, or null to ignore the header
+     */
+    private static long[] parseRange(String header, long length) {
+        if (!header.startsWith("bytes=") || header.indexOf(',') >= 0) return null;
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) return null;
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            if (first.isEmpty()) {
+                // Suffix range: the last N bytes
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0) return UNSATISFIABLE;
+                return new long[]{Math.max(0, length - suffix), length};
+            }
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? length - 1 : Math.min(Long.parseLong(last), length - 1);
+            if (start >= length || end < start) return UNSATISFIABLE;
+            return new long[]{start, end + 1};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private record FileMeta(Path path, long length, long lastModified, String etag, String contentType) {}
+}
@@ -17,6 +17,10 @@ public class AdminMetricConfig {
     @Column(name = "revenue_reset_at")
     private Instant revenueResetAt;
 
+    // Orders updated at or after this instant (minus a safety overlap) are re-rolled up
+    @Column(name = "rollup_watermark")
+    private Instant rollupWatermark;
+
     @Column(name = "updated_at", nullable = false)
     private Instant updatedAt;
 
@@ -0,0 +1,28 @@
+package com.samah.store.domain.entites;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
+
+/**
+ * Audit columns shared by every entity. Ids are declared by subclasses:
+ * {@link BaseEntity} uses IDENTITY, high-volume entities declare a pooled sequence
+ * so Hibernate can batch their inserts (see V14__pooled_sequence_ids.sql).
+ */
+@MappedSuperclass
+@Getter
+@Setter
+public abstract class AuditedEntity {
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @UpdateTimestamp
+    @Column(nullable = false)
+    private Instant updatedAt;
+}
@@ -9,7 +9,13 @@ import lombok.Setter;
         uniqueConstraints = @UniqueConstraint(name = "uk_cart_variant", columnNames = {"cart_id", "variant_id"}))
 @Getter
 @Setter
-public class CartItem extends BaseEntity {
+public class CartItem extends AuditedEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cart_items_seq")
+    @SequenceGenerator(name = "cart_items_seq", sequenceName = "cart_items_id_seq", allocationSize = 50)
+    private Long id;
+
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "cart_id", nullable = false,
             foreignKey = @ForeignKey(name = "fk_cart_items_cart"))
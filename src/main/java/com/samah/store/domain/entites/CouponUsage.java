@@ -14,7 +14,13 @@ import java.time.Instant;
         ))
 @Getter
 @Setter
-public class CouponUsage extends BaseEntity {
+public class CouponUsage extends AuditedEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "coupon_usages_seq")
+    @SequenceGenerator(name = "coupon_usages_seq", sequenceName = "coupon_usages_id_seq", allocationSize = 50)
+    private Long id;
+
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "coupon_id", nullable = false,
             foreignKey = @ForeignKey(name = "fk_coupon_usage_coupon"))
@@ -9,7 +9,15 @@ import lombok.Setter;
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders",
+        indexes = {
+            // Admin order feed (keyset, newest first), see V11__add_order_feed_indexes.sql
+            @Index(name = "idx_orders_created_at_id", columnList = "created_at, id"),
+            @Index(name = "idx_orders_status_created_at_id", columnList = "status, created_at, id"),
+            @Index(name = "idx_orders_employee_created_at_id", columnList = "assigned_employee_id, created_at, id"),
+            @Index(name = "idx_orders_customer_created_at", columnList = "customer_id, created_at"),
+            @Index(name = "idx_orders_updated_at", columnList = "updated_at")
+        })
 @Getter
 @Setter
 public class Order extends BaseEntity {
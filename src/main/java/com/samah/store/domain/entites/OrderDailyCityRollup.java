@@ -0,0 +1,52 @@
+package com.samah.store.domain.entites;
+
+import com.samah.store.domain.enums.OrderStatus;
+import jakarta.persistence.*;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Orders and order totals per day, order status and shipping city, rebuilt by OrderRollupJob.
+ */
+@Entity
+@Table(name = "order_daily_city_rollup")
+@IdClass(OrderDailyCityRollup.Key.class)
+@Getter
+@Setter
+public class OrderDailyCityRollup {
+
+    @Id
+    @Column(nullable = false)
+    private LocalDate day;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 25)
+    private OrderStatus status;
+
+    @Id
+    @Column(nullable = false, length = 50)
+    private String city;
+
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private LocalDate day;
+        private OrderStatus status;
+        private String city;
+    }
+}
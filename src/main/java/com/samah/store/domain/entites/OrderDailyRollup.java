@@ -0,0 +1,51 @@
+package com.samah.store.domain.entites;
+
+import com.samah.store.domain.enums.OrderStatus;
+import jakarta.persistence.*;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Orders per day and current status, rebuilt by OrderRollupJob.
+ * {@code day} is the order's creation date in the rollup time zone (app.admin-metrics.rollup-zone).
+ */
+@Entity
+@Table(name = "order_daily_rollup")
+@IdClass(OrderDailyRollup.Key.class)
+@Getter
+@Setter
+public class OrderDailyRollup {
+
+    @Id
+    @Column(nullable = false)
+    private LocalDate day;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 25)
+    private OrderStatus status;
+
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue;
+
+    @Column(nullable = false)
+    private long units;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private LocalDate day;
+        private OrderStatus status;
+    }
+}
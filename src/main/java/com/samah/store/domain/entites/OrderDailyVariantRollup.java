@@ -0,0 +1,54 @@
+package com.samah.store.domain.entites;
+
+import com.samah.store.domain.enums.OrderStatus;
+import jakarta.persistence.*;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Units and line totals per day, order status and variant, rebuilt by OrderRollupJob.
+ * variant_id is a plain column: rollups outlive catalog edits.
+ */
+@Entity
+@Table(name = "order_daily_variant_rollup",
+        indexes = @Index(name = "idx_order_daily_variant_rollup_variant", columnList = "variant_id, day"))
+@IdClass(OrderDailyVariantRollup.Key.class)
+@Getter
+@Setter
+public class OrderDailyVariantRollup {
+
+    @Id
+    @Column(nullable = false)
+    private LocalDate day;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 25)
+    private OrderStatus status;
+
+    @Id
+    @Column(name = "variant_id", nullable = false)
+    private Long variantId;
+
+    @Column(nullable = false)
+    private long units;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private LocalDate day;
+        private OrderStatus status;
+        private Long variantId;
+    }
+}
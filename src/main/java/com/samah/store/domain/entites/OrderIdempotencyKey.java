@@ -0,0 +1,34 @@
+package com.samah.store.domain.entites;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Client-supplied Idempotency-Key of a checkout request.
+ * Inserted at the start of the placeOrder transaction; the unique constraint makes a
+ * concurrent duplicate wait for (and then fail against) the first request.
+ */
+@Entity
+@Table(name = "order_idempotency_keys",
+        indexes = @Index(name = "idx_order_idempotency_created_at", columnList = "created_at"),
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_order_idempotency_customer_key",
+                columnNames = {"customer_id", "idempotency_key"}
+        ))
+@Getter
+@Setter
+public class OrderIdempotencyKey extends BaseEntity {
+
+    @Column(name = "customer_id", nullable = false)
+    private Long customerId;
+
+    @Column(name = "idempotency_key", nullable = false, length = 100)
+    private String idempotencyKey;
+
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash; // OrderPlaceRequest.fingerprint()
+
+    @Column(name = "order_id")
+    private Long orderId; // Set in the same transaction once the order is saved
+}
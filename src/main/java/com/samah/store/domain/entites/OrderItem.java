@@ -10,7 +10,13 @@ import java.math.BigDecimal;
 @Table(name = "order_items")
 @Getter
 @Setter
-public class OrderItem extends BaseEntity {
+public class OrderItem extends AuditedEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_items_seq")
+    @SequenceGenerator(name = "order_items_seq", sequenceName = "order_items_id_seq", allocationSize = 50)
+    private Long id;
+
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "order_id", nullable = false,
             foreignKey = @ForeignKey(name = "fk_order_items_order"))
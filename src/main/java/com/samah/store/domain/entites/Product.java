@@ -4,13 +4,18 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.math.BigDecimal;
+
 @Entity
 @Table(name = "products",
         uniqueConstraints = @UniqueConstraint(name = "uk_products_slug", columnNames = "slug"),
         indexes = {
             @Index(name = "idx_products_active_deleted", columnList = "active, deleted"),
             @Index(name = "idx_products_category", columnList = "category_id"),
-            @Index(name = "idx_products_created_at", columnList = "created_at")
+            @Index(name = "idx_products_created_at", columnList = "created_at"),
+            @Index(name = "idx_products_min_price", columnList = "min_price"),
+            @Index(name = "idx_products_created_at_id", columnList = "created_at, id"),
+            @Index(name = "idx_products_min_price_id", columnList = "min_price, id")
         })
 @Getter
 @Setter
@@ -34,4 +39,11 @@ public class Product extends BaseEntity {
 
     @Column(nullable = false)
     private boolean deleted = false;
+
+    // Denormalized from active, non-deleted variants (see ProductRepository.refreshPriceSummary)
+    @Column(precision = 12, scale = 2)
+    private BigDecimal minPrice;
+
+    @Column(precision = 12, scale = 2)
+    private BigDecimal maxPrice;
 }
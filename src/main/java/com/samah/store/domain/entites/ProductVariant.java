@@ -25,7 +25,13 @@ import java.math.BigDecimal;
         })
 @Getter
 @Setter
-public class ProductVariant extends BaseEntity {
+public class ProductVariant extends AuditedEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_variants_seq")
+    @SequenceGenerator(name = "product_variants_seq", sequenceName = "product_variants_id_seq", allocationSize = 50)
+    private Long id;
+
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "product_id", nullable = false,
@@ -16,7 +16,13 @@ import java.time.Instant;
 )
 @Getter
 @Setter
-public class RefreshToken extends BaseEntity{
+public class RefreshToken extends AuditedEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "refresh_tokens_seq")
+    @SequenceGenerator(name = "refresh_tokens_seq", sequenceName = "refresh_tokens_id_seq", allocationSize = 50)
+    private Long id;
+
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name="user_id", nullable=false,
             foreignKey = @ForeignKey(name="fk_refresh_tokens_user"))
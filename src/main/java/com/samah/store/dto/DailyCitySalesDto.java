@@ -0,0 +1,10 @@
+package com.samah.store.dto;
+
+import java.math.BigDecimal;
+
+public record DailyCitySalesDto(
+        String city,
+        Long orders,
+        BigDecimal revenue
+) {
+}
@@ -0,0 +1,12 @@
+package com.samah.store.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record DailySalesPointDto(
+        LocalDate day,
+        Long orders,
+        BigDecimal revenue,
+        Long units
+) {
+}
@@ -0,0 +1,14 @@
+package com.samah.store.dto;
+
+import java.math.BigDecimal;
+
+public record DailyVariantSalesDto(
+        Long variantId,
+        String sku,
+        String productName,
+        String size,
+        String color,
+        Long units,
+        BigDecimal revenue
+) {
+}
@@ -0,0 +1,5 @@
+package com.samah.store.dto;
+
+import java.util.List;
+
+public record OrderCursorPageDto(List<OrderDto> items, String nextCursor) {}
@@ -1,4 +1,25 @@
 package com.samah.store.dto;
 
-public record OrderPlaceRequest(Long addressId, String couponCode) {}
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
 
+public record OrderPlaceRequest(Long addressId, String couponCode) {
+
+    /**
+     * SHA-256 hex of the normalized body, stored with the Idempotency-Key so a reused key
+     * with a different address or coupon can be told apart from a genuine retry.
+     */
+    public String fingerprint() {
+        String coupon = couponCode == null ? "" : couponCode.trim().toUpperCase(Locale.ROOT);
+        String normalized = addressId + "\n" + coupon;
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(normalized.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
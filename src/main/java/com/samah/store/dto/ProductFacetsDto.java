@@ -0,0 +1,13 @@
+package com.samah.store.dto;
+
+import java.util.List;
+
+/**
+ * Storefront facet counts. Each count is the number of products that would match
+ * if that value were selected; price bucket values look like "10-25" or "100+".
+ */
+public record ProductFacetsDto(long total, List<FacetCount> categories, List<FacetCount> priceBuckets,
+                               List<FacetCount> sizes, List<FacetCount> colors) {
+
+    public record FacetCount(String value, long count) {}
+}
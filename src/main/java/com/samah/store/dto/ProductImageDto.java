@@ -1,4 +1,7 @@
 package com.samah.store.dto;
 
-public record ProductImageDto(Long id, String url, Integer sortOrder) {}
-
+/**
+ * {@code url} is the uploaded original; the rendition URLs fall back to it when no rendition exists.
+ */
+public record ProductImageDto(Long id, String url, Integer sortOrder,
+                              String thumbnailUrl, String detailUrl, String zoomUrl) {}
@@ -0,0 +1,35 @@
+package com.samah.store.repository;
+
+import com.samah.store.domain.entites.OrderIdempotencyKey;
+import com.samah.store.repository.projection.IdempotencyKeyRow;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public interface OrderIdempotencyKeyRepository extends JpaRepository<OrderIdempotencyKey, Long> {
+
+    @Query("select new com.samah.store.repository.projection.IdempotencyKeyRow(k.orderId, k.requestHash) " +
+           "from OrderIdempotencyKey k " +
+           "where k.customerId = :customerId and k.idempotencyKey = :key and k.orderId is not null")
+    Optional<IdempotencyKeyRow> findCompleted(@Param("customerId") Long customerId, @Param("key") String key);
+
+    /**
+     * Delete up to {@code batchSize} keys created before {@code createdBefore}.
+     * Rows locked by an in-flight checkout are skipped, not waited on.
+     */
+    @Modifying
+    @Query(value = """
+            delete from store.order_idempotency_keys
+            where id in (
+                select id from store.order_idempotency_keys
+                where created_at < :createdBefore
+                limit :batchSize
+                for update skip locked)
+            """, nativeQuery = true)
+    int purgeBatch(@Param("createdBefore") Instant createdBefore,
+                   @Param("batchSize") int batchSize);
+}
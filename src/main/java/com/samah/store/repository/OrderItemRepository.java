@@ -1,14 +1,26 @@
 package com.samah.store.repository;
 
 import com.samah.store.domain.entites.OrderItem;
+import com.samah.store.repository.projection.OrderItemRow;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
 
     @EntityGraph(attributePaths = {"variant", "variant.product"})
     List<OrderItem> findByOrderId(Long orderId);
+
+    /**
+     * Items of a whole page of orders in one query, for grouping by orderId in memory.
+     */
+    @Query("select new com.samah.store.repository.projection.OrderItemRow(" +
+           "i.order.id, i.id, i.productName, i.variantSku, i.size, i.color, i.unitPrice, i.quantity, i.lineTotal) " +
+           "from OrderItem i where i.order.id in :orderIds order by i.order.id, i.id")
+    List<OrderItemRow> findByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
 }
 
@@ -2,6 +2,9 @@ package com.samah.store.repository;
 
 import com.samah.store.domain.entites.Order;
 import com.samah.store.domain.enums.OrderStatus;
+import com.samah.store.repository.projection.OrderSummaryRow;
+import com.samah.store.repository.projection.StatusCountRow;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
@@ -11,24 +14,23 @@ import org.springframework.data.repository.query.Param;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
-    Page<Order> findByCustomerId(Long customerId, Pageable pageable);
-
-    @EntityGraph(attributePaths = {"address", "customer", "assignedEmployee"})
-    Page<Order> findAllBy(Pageable pageable);
-
     @EntityGraph(attributePaths = {"address", "customer"})
     Optional<Order> findWithCustomerAndAddressById(Long id);
 
-    Page<Order> findByAssignedEmployeeId(Long employeeId, Pageable pageable);
-
     @EntityGraph(attributePaths = {"address", "customer", "assignedEmployee"})
     Optional<Order> findWithDetailsById(Long id);
 
     long countByStatus(OrderStatus status);
 
+    @Query("select new com.samah.store.repository.projection.StatusCountRow(o.status, count(o)) " +
+           "from Order o group by o.status")
+    List<StatusCountRow> countGroupedByStatus();
+
     long countByCreatedAtAfter(Instant after);
 
     @Query("SELECT COALESCE(SUM(o.total), 0) FROM Order o WHERE o.status = 'DELIVERED'")
@@ -40,9 +42,47 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     @EntityGraph(attributePaths = {"customer", "assignedEmployee"})
     Page<Order> findByStatusNot(OrderStatus status, Pageable pageable);
 
-    @EntityGraph(attributePaths = {"customer", "assignedEmployee", "address"})
-    Page<Order> findByStatus(OrderStatus status, Pageable pageable);
+    // ==================== LISTING PROJECTIONS ====================
+    // Read-only rows for the order dashboards: no entity hydration, dirty-checking or proxies.
+    // Pageable sort properties resolve against the "o" alias (e.g. sort=createdAt,desc).
+
+    String SUMMARY_ROW = "select new com.samah.store.repository.projection.OrderSummaryRow(" +
+            "o.id, o.status, o.paymentMethod, o.subtotal, o.shippingFee, o.discountTotal, o.total, " +
+            "o.trackingCode, o.createdAt, c.id, c.username, c.email, " +
+            "a.id, a.city, a.street, a.details, a.phone, e.id, e.username, e.email) " +
+            "from Order o join o.customer c join o.address a left join o.assignedEmployee e ";
+
+    @Query(value = SUMMARY_ROW,
+           countQuery = "select count(o) from Order o")
+    Page<OrderSummaryRow> findSummaryRows(Pageable pageable);
+
+    @Query(value = SUMMARY_ROW + "where c.id = :customerId",
+           countQuery = "select count(o) from Order o where o.customer.id = :customerId")
+    Page<OrderSummaryRow> findSummaryRowsByCustomerId(@Param("customerId") Long customerId, Pageable pageable);
+
+    @Query(value = SUMMARY_ROW + "where e.id = :employeeId",
+           countQuery = "select count(o) from Order o where o.assignedEmployee.id = :employeeId")
+    Page<OrderSummaryRow> findSummaryRowsByAssignedEmployeeId(@Param("employeeId") Long employeeId, Pageable pageable);
+
+    @Query(value = SUMMARY_ROW + "where o.status in :statuses",
+           countQuery = "select count(o) from Order o where o.status in :statuses")
+    Page<OrderSummaryRow> findSummaryRowsByStatusIn(@Param("statuses") Collection<OrderStatus> statuses, Pageable pageable);
 
-    @EntityGraph(attributePaths = {"customer", "assignedEmployee", "address"})
-    Page<Order> findByStatusIn(java.util.List<OrderStatus> statuses, Pageable pageable);
+    /**
+     * Admin order feed, newest first, seeking past (afterCreatedAt, afterId) instead of using an offset.
+     * Backed by the (status, created_at, id) and (assigned_employee_id, created_at, id) indexes.
+     */
+    @Query(SUMMARY_ROW +
+           "where o.status in :statuses " +
+           "and (:employeeId is null or o.assignedEmployee.id = :employeeId) " +
+           "and o.createdAt >= :from and o.createdAt < :to " +
+           "and (o.createdAt < :afterCreatedAt or (o.createdAt = :afterCreatedAt and o.id < :afterId)) " +
+           "order by o.createdAt desc, o.id desc")
+    List<OrderSummaryRow> findFeedRows(@Param("statuses") Collection<OrderStatus> statuses,
+                                       @Param("employeeId") Long employeeId,
+                                       @Param("from") Instant from,
+                                       @Param("to") Instant to,
+                                       @Param("afterCreatedAt") Instant afterCreatedAt,
+                                       @Param("afterId") Long afterId,
+                                       Limit limit);
 }
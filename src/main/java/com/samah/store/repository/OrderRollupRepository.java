@@ -0,0 +1,116 @@
+package com.samah.store.repository;
+
+import com.samah.store.domain.entites.OrderDailyRollup;
+import com.samah.store.domain.enums.OrderStatus;
+import com.samah.store.dto.DailyCitySalesDto;
+import com.samah.store.dto.DailySalesPointDto;
+import com.samah.store.dto.DailyVariantSalesDto;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Rebuild and read access for the three order_daily_*rollup tables.
+ *
+ * A day is rebuilt by deleting its rows and re-aggregating the orders created in [from, to),
+ * the day's bounds in the rollup time zone. Callers run delete + inserts in one transaction.
+ */
+public interface OrderRollupRepository extends JpaRepository<OrderDailyRollup, OrderDailyRollup.Key> {
+
+    @Query(value = """
+            SELECT DISTINCT CAST(o.created_at AT TIME ZONE :zone AS date)
+            FROM store.orders o
+            WHERE o.updated_at >= :since
+            ORDER BY 1""", nativeQuery = true)
+    List<LocalDate> findDaysWithOrdersUpdatedSince(@Param("since") Instant since, @Param("zone") String zone);
+
+    @Modifying
+    @Query(value = "DELETE FROM store.order_daily_rollup WHERE day = :day", nativeQuery = true)
+    int deleteDay(@Param("day") LocalDate day);
+
+    @Modifying
+    @Query(value = "DELETE FROM store.order_daily_variant_rollup WHERE day = :day", nativeQuery = true)
+    int deleteVariantDay(@Param("day") LocalDate day);
+
+    @Modifying
+    @Query(value = "DELETE FROM store.order_daily_city_rollup WHERE day = :day", nativeQuery = true)
+    int deleteCityDay(@Param("day") LocalDate day);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO store.order_daily_rollup (day, status, order_count, revenue, units)
+            SELECT :day, o.status, COUNT(*), COALESCE(SUM(o.total), 0), COALESCE(SUM(u.units), 0)
+            FROM store.orders o
+            LEFT JOIN (SELECT oi.order_id, SUM(oi.quantity) AS units
+                       FROM store.order_items oi
+                       JOIN store.orders o2 ON o2.id = oi.order_id
+                       WHERE o2.created_at >= :from AND o2.created_at < :to
+                       GROUP BY oi.order_id) u ON u.order_id = o.id
+            WHERE o.created_at >= :from AND o.created_at < :to
+            GROUP BY o.status""", nativeQuery = true)
+    int insertDay(@Param("day") LocalDate day, @Param("from") Instant from, @Param("to") Instant to);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO store.order_daily_variant_rollup (day, status, variant_id, units, revenue)
+            SELECT :day, o.status, oi.variant_id, SUM(oi.quantity), SUM(oi.line_total)
+            FROM store.order_items oi
+            JOIN store.orders o ON o.id = oi.order_id
+            WHERE o.created_at >= :from AND o.created_at < :to
+            GROUP BY o.status, oi.variant_id""", nativeQuery = true)
+    int insertVariantDay(@Param("day") LocalDate day, @Param("from") Instant from, @Param("to") Instant to);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO store.order_daily_city_rollup (day, status, city, order_count, revenue)
+            SELECT :day, o.status, a.city, COUNT(*), SUM(o.total)
+            FROM store.orders o
+            JOIN store.addresses a ON a.id = o.address_id
+            WHERE o.created_at >= :from AND o.created_at < :to
+            GROUP BY o.status, a.city""", nativeQuery = true)
+    int insertCityDay(@Param("day") LocalDate day, @Param("from") Instant from, @Param("to") Instant to);
+
+    @Query("""
+            select new com.samah.store.dto.DailySalesPointDto(r.day, sum(r.orderCount), sum(r.revenue), sum(r.units))
+            from OrderDailyRollup r
+            where r.day between :from and :to and r.status in :statuses
+            group by r.day
+            order by r.day
+            """)
+    List<DailySalesPointDto> findDailySeries(@Param("from") LocalDate from,
+                                             @Param("to") LocalDate to,
+                                             @Param("statuses") Collection<OrderStatus> statuses);
+
+    @Query("""
+            select new com.samah.store.dto.DailyVariantSalesDto(
+                r.variantId, v.sku, p.name, v.size, v.color, sum(r.units), sum(r.revenue))
+            from OrderDailyVariantRollup r
+            left join ProductVariant v on v.id = r.variantId
+            left join v.product p
+            where r.day between :from and :to and r.status in :statuses
+            group by r.variantId, v.sku, p.name, v.size, v.color
+            order by sum(r.units) desc, r.variantId
+            """)
+    List<DailyVariantSalesDto> findTopVariants(@Param("from") LocalDate from,
+                                               @Param("to") LocalDate to,
+                                               @Param("statuses") Collection<OrderStatus> statuses,
+                                               Limit limit);
+
+    @Query("""
+            select new com.samah.store.dto.DailyCitySalesDto(r.city, sum(r.orderCount), sum(r.revenue))
+            from OrderDailyCityRollup r
+            where r.day between :from and :to and r.status in :statuses
+            group by r.city
+            order by sum(r.orderCount) desc, r.city
+            """)
+    List<DailyCitySalesDto> findCityTotals(@Param("from") LocalDate from,
+                                           @Param("to") LocalDate to,
+                                           @Param("statuses") Collection<OrderStatus> statuses);
+}
@@ -2,6 +2,8 @@ package com.samah.store.repository;
 
 import com.samah.store.domain.entites.ProductImage;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -10,4 +12,7 @@ public interface ProductImageRepository extends JpaRepository<ProductImage, Long
     List<ProductImage> findByProductIdOrderBySortOrderAsc(Long productId);
     Optional<ProductImage> findFirstByProductIdOrderBySortOrderAsc(Long productId);
     List<ProductImage> findByProductIdIn(List<Long> productIds);
+
+    @Query("select max(i.sortOrder) from ProductImage i where i.product.id = :productId")
+    Integer findMaxSortOrder(@Param("productId") Long productId);
 }
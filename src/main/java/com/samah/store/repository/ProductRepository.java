@@ -1,13 +1,18 @@
 package com.samah.store.repository;
 
 import com.samah.store.domain.entites.Product;
+import com.samah.store.repository.projection.ProductIndexRow;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,4 +27,41 @@ public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpec
 
     @EntityGraph(attributePaths = {"category"})
     Page<Product> findByIdIn(List<Long> ids, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"category"})
+    List<Product> findAllByIdIn(List<Long> ids);
+
+    // In-memory search/facet index rows (ProductSearchIndex)
+    @Query("""
+            select new com.samah.store.repository.projection.ProductIndexRow(p.id, p.category.id, p.name, p.createdAt, p.minPrice, p.maxPrice)
+            from Product p where p.active = true and p.deleted = false""")
+    List<ProductIndexRow> findIndexRows();
+
+    @Query("""
+            select new com.samah.store.repository.projection.ProductIndexRow(p.id, p.category.id, p.name, p.createdAt, p.minPrice, p.maxPrice)
+            from Product p where p.active = true and p.deleted = false and p.id in :ids""")
+    List<ProductIndexRow> findIndexRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Recompute min_price and max_price from the product's active, non-deleted variants.
+     * Must be called by every write path that changes variant price, active or deleted.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            update Product p set
+                p.minPrice = (select min(v.price) from ProductVariant v
+                              where v.product.id = p.id and v.active = true and v.deleted = false),
+                p.maxPrice = (select max(v.price) from ProductVariant v
+                              where v.product.id = p.id and v.active = true and v.deleted = false)
+            where p.id in :ids""")
+    int refreshPriceSummary(@Param("ids") Collection<Long> ids);
+
+    // Rows created before the summary columns existed; products without an active variant have
+    // nothing to summarize and are left out, so this is empty once the backfill has run
+    @Query("""
+            select p.id from Product p
+            where p.minPrice is null and p.deleted = false
+              and exists (select 1 from ProductVariant v
+                          where v.product.id = p.id and v.active = true and v.deleted = false)""")
+    List<Long> findIdsMissingPriceSummary();
 }
@@ -1,13 +1,15 @@
 package com.samah.store.repository;
 
 import com.samah.store.domain.entites.ProductVariant;
+import com.samah.store.repository.projection.VariantFacetRow;
+import com.samah.store.repository.projection.VariantStockRow;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,12 +23,50 @@ public interface ProductVariantRepository extends JpaRepository<ProductVariant,
     @EntityGraph(attributePaths = {"product"})
     Optional<ProductVariant> findByIdAndActiveIsTrueAndDeletedIsFalse(Long id);
 
-    @Query("select distinct v.product.id from ProductVariant v where (:min is null or v.price >= :min) and (:max is null or v.price <= :max)")
-    List<Long> findDistinctProductIdsByPriceRange(@Param("min") BigDecimal min, @Param("max") BigDecimal max);
-
     List<ProductVariant> findByProductIdIn(List<Long> productIds);
 
+    // In-memory facet index rows (ProductSearchIndex)
+    @Query("""
+            select new com.samah.store.repository.projection.VariantFacetRow(v.product.id, v.size, v.color)
+            from ProductVariant v where v.active = true and v.deleted = false""")
+    List<VariantFacetRow> findFacetRows();
+
+    @Query("""
+            select new com.samah.store.repository.projection.VariantFacetRow(v.product.id, v.size, v.color)
+            from ProductVariant v where v.active = true and v.deleted = false and v.product.id in :productIds""")
+    List<VariantFacetRow> findFacetRowsByProductIdIn(@Param("productIds") Collection<Long> productIds);
+
+    /**
+     * Reserve stock for a whole cart in one statement.
+     * Rows are locked in ascending id order first, so concurrent checkouts sharing variants
+     * queue up instead of deadlocking. Each variant is decremented only if it is active,
+     * not deleted and has enough stock; the caller compares the returned count with
+     * ids.length and rolls back on a shortfall.
+     *
+     * @param ids  distinct variant ids
+     * @param qtys quantity per id, same order as ids
+     */
     @Modifying
-    @Query("update ProductVariant v set v.stockQuantity = v.stockQuantity - :qty where v.id = :id and v.stockQuantity >= :qty")
-    int decrementStockIfAvailable(@Param("id") Long id, @Param("qty") int qty);
+    @Query(value = """
+            WITH req(id, qty) AS (
+                SELECT * FROM unnest(CAST(:ids AS bigint[]), CAST(:qtys AS integer[]))
+            ), locked AS (
+                SELECT v.id FROM store.product_variants v
+                WHERE v.id IN (SELECT id FROM req)
+                ORDER BY v.id
+                FOR UPDATE
+            )
+            UPDATE store.product_variants v
+            SET stock_quantity = v.stock_quantity - req.qty
+            FROM req
+            WHERE v.id = req.id
+              AND v.id IN (SELECT id FROM locked)
+              AND v.active = true AND v.deleted = false
+              AND v.stock_quantity >= req.qty""", nativeQuery = true)
+    int reserveStock(@Param("ids") Long[] ids, @Param("qtys") Integer[] qtys);
+
+    @Query("""
+            select new com.samah.store.repository.projection.VariantStockRow(v.id, v.stockQuantity, v.active, v.deleted)
+            from ProductVariant v where v.id in :ids""")
+    List<VariantStockRow> findStockRowsByIdIn(@Param("ids") Collection<Long> ids);
 }
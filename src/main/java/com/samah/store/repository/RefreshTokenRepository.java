@@ -2,11 +2,30 @@ package com.samah.store.repository;
 
 import com.samah.store.domain.entites.RefreshToken;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.Instant;
 import java.util.Optional;
 
 public interface RefreshTokenRepository  extends JpaRepository<RefreshToken, Long> {
     Optional<RefreshToken> findByTokenHash(String tokenHash);
-    long deleteByExpiresAtBefore(Instant cutoff);
+
+    /**
+     * Delete up to {@code batchSize} tokens that expired before {@code now} or were revoked before
+     * {@code revokedBefore}. Rows locked by a concurrent rotate/logout are skipped, not waited on.
+     */
+    @Modifying
+    @Query(value = """
+            delete from store.refresh_tokens
+            where id in (
+                select id from store.refresh_tokens
+                where expires_at < :now or revoked_at < :revokedBefore
+                limit :batchSize
+                for update skip locked)
+            """, nativeQuery = true)
+    int purgeBatch(@Param("now") Instant now,
+                   @Param("revokedBefore") Instant revokedBefore,
+                   @Param("batchSize") int batchSize);
 }
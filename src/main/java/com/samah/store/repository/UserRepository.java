@@ -2,7 +2,9 @@ package com.samah.store.repository;
 
 import com.samah.store.domain.entites.User;
 import com.samah.store.domain.enums.Role;
+import com.samah.store.repository.projection.UserPrincipalRow;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 import java.util.Optional;
@@ -13,4 +15,12 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByEmail(String email);
     boolean existsByUsername(String username);
     List<User> findByRole(Role role);
+
+    @Query("""
+            select new com.samah.store.repository.projection.UserPrincipalRow(
+                u.id, u.username, u.role, u.enabled, u.deleted, u.tokenVersion)
+            from User u
+            where u.id = :id
+            """)
+    Optional<UserPrincipalRow> findPrincipalRowById(Long id);
 }
@@ -0,0 +1,6 @@
+package com.samah.store.repository.projection;
+
+/**
+ * The order a committed Idempotency-Key produced and the fingerprint of the body it was used with.
+ */
+public record IdempotencyKeyRow(Long orderId, String requestHash) {}
@@ -0,0 +1,16 @@
+package com.samah.store.repository.projection;
+
+import com.samah.store.dto.OrderItemDto;
+
+import java.math.BigDecimal;
+
+/**
+ * Snapshot columns of an order item, keyed by order. No joins to variant/product needed.
+ */
+public record OrderItemRow(Long orderId, Long id, String productName, String variantSku, String size, String color,
+                           BigDecimal unitPrice, Integer quantity, BigDecimal lineTotal) {
+
+    public OrderItemDto toDto() {
+        return new OrderItemDto(id, productName, variantSku, size, color, unitPrice, quantity, lineTotal);
+    }
+}
@@ -0,0 +1,43 @@
+package com.samah.store.repository.projection;
+
+import com.samah.store.domain.enums.OrderStatus;
+import com.samah.store.domain.enums.PaymentMethod;
+import com.samah.store.dto.AddressDto;
+import com.samah.store.dto.AssignedEmployeeDto;
+import com.samah.store.dto.CustomerInfoDto;
+import com.samah.store.dto.OrderDto;
+import com.samah.store.dto.OrderItemDto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Flat row with exactly the order, customer, address and employee columns {@link OrderDto} needs.
+ * Employee columns are null when the order is unassigned.
+ */
+public record OrderSummaryRow(Long id, OrderStatus status, PaymentMethod paymentMethod,
+                              BigDecimal subtotal, BigDecimal shippingFee, BigDecimal discountTotal,
+                              BigDecimal total, String trackingCode, Instant createdAt,
+                              Long customerId, String customerUsername, String customerEmail,
+                              Long addressId, String city, String street, String details, String phone,
+                              Long employeeId, String employeeUsername, String employeeEmail) {
+
+    public OrderDto toDto(List<OrderItemDto> items) {
+        return new OrderDto(
+                id,
+                status,
+                paymentMethod,
+                subtotal,
+                shippingFee,
+                discountTotal,
+                total,
+                trackingCode,
+                new CustomerInfoDto(customerId, customerUsername, customerEmail),
+                new AddressDto(addressId, city, street, details, phone),
+                employeeId != null ? new AssignedEmployeeDto(employeeId, employeeUsername, employeeEmail) : null,
+                items,
+                createdAt
+        );
+    }
+}
@@ -0,0 +1,10 @@
+package com.samah.store.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Columns of a public product needed by the in-memory search/facet index.
+ */
+public record ProductIndexRow(Long id, Long categoryId, String name, Instant createdAt, BigDecimal minPrice,
+                              BigDecimal maxPrice) {}
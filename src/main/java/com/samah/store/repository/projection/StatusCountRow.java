@@ -0,0 +1,8 @@
+package com.samah.store.repository.projection;
+
+import com.samah.store.domain.enums.OrderStatus;
+
+/**
+ * Number of orders in one status.
+ */
+public record StatusCountRow(OrderStatus status, long count) {}
@@ -0,0 +1,9 @@
+package com.samah.store.repository.projection;
+
+import com.samah.store.domain.enums.Role;
+
+/**
+ * The user columns JwtAuthFilter needs to authenticate a request.
+ */
+public record UserPrincipalRow(Long id, String username, Role role, boolean enabled, boolean deleted,
+                               long tokenVersion) {}
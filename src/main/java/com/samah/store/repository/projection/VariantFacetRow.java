@@ -0,0 +1,6 @@
+package com.samah.store.repository.projection;
+
+/**
+ * Size and color of an active, non-deleted variant, keyed by product.
+ */
+public record VariantFacetRow(Long productId, String size, String color) {}
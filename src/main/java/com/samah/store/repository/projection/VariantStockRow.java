@@ -0,0 +1,6 @@
+package com.samah.store.repository.projection;
+
+/**
+ * Current stock and availability of a variant, read straight from the database.
+ */
+public record VariantStockRow(Long id, Integer stockQuantity, boolean active, boolean deleted) {}
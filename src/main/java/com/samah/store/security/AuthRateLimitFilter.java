@@ -0,0 +1,58 @@
+package com.samah.store.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Per-IP throttling of POST /api/auth/login, /register and /refresh, ahead of JwtAuthFilter,
+ * so rejected requests never reach BCrypt or the users table. Answers 429 with Retry-After.
+ *
+ * The client IP is {@code request.getRemoteAddr()}. X-Forwarded-For is deliberately not read
+ * here (it is trivially spoofed); behind a proxy set {@code server.forward-headers-strategy}.
+ */
+@Component
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+    private static final Logger log = LoggerFactory.getLogger(AuthRateLimitFilter.class);
+
+    private static final Map<String, String> LIMIT_BY_PATH = Map.of(
+            "/api/auth/login", AuthRateLimiter.LOGIN_IP,
+            "/api/auth/register", AuthRateLimiter.REGISTER_IP,
+            "/api/auth/refresh", AuthRateLimiter.REFRESH_IP);
+
+    private final AuthRateLimiter rateLimiter;
+
+    public AuthRateLimitFilter(AuthRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod()) || !LIMIT_BY_PATH.containsKey(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String limit = LIMIT_BY_PATH.get(request.getRequestURI());
+        long retryAfter = rateLimiter.tryAcquire(limit, request.getRemoteAddr());
+        if (retryAfter > 0) {
+            log.debug("Rate limit {} hit by {}", limit, request.getRemoteAddr());
+            response.setStatus(429);
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+            response.setContentType("application/json;charset=UTF-8");
+            response.getWriter().write("{\"message\":\"" + rateLimiter.message() + "\"}");
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+}
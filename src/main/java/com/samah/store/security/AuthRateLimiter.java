@@ -0,0 +1,119 @@
+package com.samah.store.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.samah.store.exception.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Token-bucket throttling for the unauthenticated auth endpoints.
+ *
+ * LIMITS (app.rate-limit.*, "capacity/period" = burst size, fully refilled over the period):
+ * - login per IP, register per IP, refresh per IP - enforced by {@link AuthRateLimitFilter}
+ * - login per account (username or email) - enforced by AuthController before the user lookup,
+ *   so a botnet spreading one account over many IPs is still slowed down
+ *
+ * Buckets live in a bounded Caffeine map and are dropped once idle for a full refill period,
+ * when they would be back at capacity anyway. Rejections are counted per limit.
+ */
+@Component
+public class AuthRateLimiter {
+
+    public static final String LOGIN_IP = "login-ip";
+    public static final String LOGIN_ACCOUNT = "login-account";
+    public static final String REGISTER_IP = "register-ip";
+    public static final String REFRESH_IP = "refresh-ip";
+
+    private static final String MESSAGE = "محاولات كثيرة - يرجى المحاولة لاحقاً";
+
+    private final Map<String, Limit> limits;
+    private final Map<String, LongAdder> rejected = new ConcurrentHashMap<>();
+    private final Cache<String, TokenBucket> buckets;
+    private final LongSupplier nanoClock;
+
+    @Autowired
+    public AuthRateLimiter(@Value("${app.rate-limit.login-per-ip:10/1m}") String loginPerIp,
+                           @Value("${app.rate-limit.login-per-account:5/5m}") String loginPerAccount,
+                           @Value("${app.rate-limit.register-per-ip:5/1h}") String registerPerIp,
+                           @Value("${app.rate-limit.refresh-per-ip:30/1m}") String refreshPerIp,
+                           @Value("${app.rate-limit.max-tracked-keys:100000}") long maxTrackedKeys) {
+        this(loginPerIp, loginPerAccount, registerPerIp, refreshPerIp, maxTrackedKeys, System::nanoTime);
+    }
+
+    AuthRateLimiter(String loginPerIp, String loginPerAccount, String registerPerIp, String refreshPerIp,
+                    long maxTrackedKeys, LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.limits = Map.of(
+                LOGIN_IP, Limit.parse(loginPerIp),
+                LOGIN_ACCOUNT, Limit.parse(loginPerAccount),
+                REGISTER_IP, Limit.parse(registerPerIp),
+                REFRESH_IP, Limit.parse(refreshPerIp));
+        long longestPeriod = limits.values().stream().mapToLong(Limit::refillNanos).max().orElseThrow();
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxTrackedKeys)
+                .expireAfterAccess(longestPeriod, TimeUnit.NANOSECONDS)
+                .ticker(nanoClock::getAsLong)
+                .build();
+        limits.keySet().forEach(name -> rejected.put(name, new LongAdder()));
+    }
+
+    /**
+     * @return 0 if the request may proceed, otherwise seconds until the caller should retry
+     */
+    public long tryAcquire(String limitName, String key) {
+        Limit limit = limits.get(limitName);
+        long now = nanoClock.getAsLong();
+        TokenBucket bucket = buckets.get(limitName + ':' + key,
+                k -> new TokenBucket(limit.capacity(), limit.refillNanos(), now));
+        long waitNanos = bucket.tryConsume(now);
+        if (waitNanos == 0) return 0;
+        rejected.get(limitName).increment();
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1);
+    }
+
+    public void checkLoginAccount(String usernameOrEmail) {
+        long retryAfter = tryAcquire(LOGIN_ACCOUNT, usernameOrEmail.trim().toLowerCase(Locale.ROOT));
+        if (retryAfter > 0) {
+            throw new TooManyRequestsException(MESSAGE, retryAfter);
+        }
+    }
+
+    public String message() {
+        return MESSAGE;
+    }
+
+    public Stats stats() {
+        Map<String, Long> counts = new TreeMap<>();
+        rejected.forEach((name, count) -> counts.put(name, count.sum()));
+        return new Stats(buckets.estimatedSize(), counts);
+    }
+
+    public record Stats(long trackedKeys, Map<String, Long> rejected) {}
+
+    record Limit(int capacity, long refillNanos) {
+        /** Parses "capacity/period", e.g. "10/1m", "5/30s", "5/1h". */
+        static Limit parse(String spec) {
+            String[] parts = spec.trim().split("/");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Rate limit must look like '10/1m': " + spec);
+            }
+            int capacity = Integer.parseInt(parts[0].trim());
+            Duration period = Duration.parse("PT" + parts[1].trim().toUpperCase(Locale.ROOT));
+            if (capacity < 1 || period.isZero() || period.isNegative()) {
+                throw new IllegalArgumentException("Rate limit must be positive: " + spec);
+            }
+            return new Limit(capacity, period.toNanos());
+        }
+    }
+}
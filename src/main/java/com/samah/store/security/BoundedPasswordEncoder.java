@@ -0,0 +1,113 @@
+package com.samah.store.security;
+
+import com.samah.store.exception.ServiceUnavailableException;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * PasswordEncoder that runs the delegate (BCrypt) on the bounded passwordHashingExecutor
+ * instead of the Tomcat request thread.
+ *
+ * Behavior:
+ * - At most {@code threads} hashes run at once, whatever the number of concurrent logins
+ * - When the queue is full, or a hash has waited longer than {@code maxWait}, the request fails
+ *   fast with {@link ServiceUnavailableException} (503 + Retry-After) instead of piling up
+ * - {@link #stats()} reports pool and outcome counters (see GET /api/admin/metrics/password-hashing)
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private static final String BUSY_MESSAGE = "الخدمة مشغولة حالياً - يرجى المحاولة بعد لحظات";
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolTaskExecutor executor;
+    private final Duration maxWait;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, ThreadPoolTaskExecutor executor, Duration maxWait) {
+        this.delegate = delegate;
+        this.executor = executor;
+        this.maxWait = maxWait;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    public Stats stats() {
+        long count = completed.sum();
+        return new Stats(
+                executor.getPoolSize(),
+                executor.getActiveCount(),
+                executor.getThreadPoolExecutor().getQueue().size(),
+                count,
+                rejected.sum(),
+                timedOut.sum(),
+                count == 0 ? 0 : totalNanos.sum() / count / 1_000_000,
+                maxNanos.get() / 1_000_000);
+    }
+
+    private <T> T run(Callable<T> task) {
+        long submitted = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (TaskRejectedException e) {
+            rejected.increment();
+            throw new ServiceUnavailableException(BUSY_MESSAGE);
+        }
+        try {
+            T result = future.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+            record(System.nanoTime() - submitted);
+            return result;
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timedOut.increment();
+            throw new ServiceUnavailableException(BUSY_MESSAGE);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException(BUSY_MESSAGE);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void record(long nanos) {
+        completed.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    /**
+     * Durations include queue wait, i.e. what the login request actually experienced.
+     */
+    public record Stats(int poolSize, int active, int queued, long completed, long rejected, long timedOut,
+                        long avgMillis, long maxMillis) {}
+}
@@ -1,7 +1,5 @@
 package com.samah.store.security;
 
-import com.samah.store.domain.entites.User;
-import com.samah.store.repository.UserRepository;
 import io.jsonwebtoken.ExpiredJwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -24,11 +22,11 @@ public class JwtAuthFilter extends OncePerRequestFilter{
     private static final Logger log = LoggerFactory.getLogger(JwtAuthFilter.class);
 
     private final JwtService jwtService;
-    private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
 
-    public JwtAuthFilter(JwtService JwtService, UserRepository userRepository) {
+    public JwtAuthFilter(JwtService JwtService, PrincipalCache principalCache) {
         this.jwtService = JwtService;
-        this.userRepository = userRepository;
+        this.principalCache = principalCache;
     }
 
     @Override
@@ -47,8 +45,8 @@ public class JwtAuthFilter extends OncePerRequestFilter{
             JwtService.JwtParsed parsed = jwtService.parseAndValidate(token);
             log.debug("Parsed JWT - userId: {}, role: {}", parsed.userId(), parsed.role());
 
-            var user = userRepository.findById(parsed.userId()).orElse(null);
-            if (user == null || !user.isEnabled() || user.isDeleted()) {
+            var user = principalCache.get(parsed.userId()).orElse(null);
+            if (user == null || !user.enabled() || user.deleted()) {
                 log.warn("User not found or disabled for userId: {}", parsed.userId());
                 // ensure no stale authentication remains
                 SecurityContextHolder.clearContext();
@@ -57,19 +55,19 @@ public class JwtAuthFilter extends OncePerRequestFilter{
             }
 
             // tokenVersion check => طرد فوري
-            if (user.getTokenVersion() != parsed.tokenVersion()) {
+            if (user.tokenVersion() != parsed.tokenVersion()) {
                 log.warn("Token version mismatch for userId: {}. Expected: {}, Got: {}",
-                    parsed.userId(), user.getTokenVersion(), parsed.tokenVersion());
+                    parsed.userId(), user.tokenVersion(), parsed.tokenVersion());
                 SecurityContextHolder.clearContext();
                 chain.doFilter(request, response);
                 return;
             }
 
-            String authority = "ROLE_" + user.getRole().name();
-            log.debug("Setting authentication - username: {}, authority: {}", user.getUsername(), authority);
+            String authority = "ROLE_" + user.role().name();
+            log.debug("Setting authentication - username: {}, authority: {}", user.username(), authority);
 
             var auth = new UsernamePasswordAuthenticationToken(
-                    user.getUsername(),
+                    user.username(),
                     null,
                     List.of(new SimpleGrantedAuthority(authority))
             );
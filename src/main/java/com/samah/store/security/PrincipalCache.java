@@ -0,0 +1,42 @@
+package com.samah.store.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.samah.store.repository.UserRepository;
+import com.samah.store.repository.projection.UserPrincipalRow;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Per-user authentication state (role, enabled, deleted, tokenVersion) for JwtAuthFilter,
+ * so authenticated requests don't hit the users table each time.
+ *
+ * Every write that changes these fields must call {@link #evict(Long)} after saving.
+ * Loads go through Caffeine's per-key compute, so an eviction waits for an in-flight load
+ * of the same user and removes its (possibly stale) result - revocation takes effect on the
+ * next request. The TTL only bounds staleness for writes made by other instances.
+ */
+@Component
+public class PrincipalCache {
+
+    private final UserRepository userRepository;
+
+    private final Cache<Long, Optional<UserPrincipalRow>> principals = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofSeconds(60))
+            .maximumSize(10_000)
+            .build();
+
+    public PrincipalCache(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    public Optional<UserPrincipalRow> get(Long userId) {
+        return principals.get(userId, userRepository::findPrincipalRowById);
+    }
+
+    public void evict(Long userId) {
+        principals.invalidate(userId);
+    }
+}
@@ -0,0 +1,76 @@
+package com.samah.store.security;
+
+import com.samah.store.repository.RefreshTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Deletes expired refresh tokens, and revoked ones once they are older than the retention period.
+ *
+ * Every rotation inserts a row and revokes the old one, so without this the refresh_tokens table
+ * and its token_hash index grow forever. Each batch is its own short transaction so row locks
+ * are held only briefly; a run stops after {@code max-batches} and the next run continues.
+ * Revoked rows are kept for a while because replaced_by_hash is useful when investigating reuse.
+ */
+@Component
+public class RefreshTokenPurger {
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenPurger.class);
+
+    private final RefreshTokenRepository repo;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatches;
+    private final Duration revokedRetention;
+
+    private volatile LastRun lastRun;
+
+    public RefreshTokenPurger(RefreshTokenRepository repo,
+                              TransactionTemplate transactionTemplate,
+                              @Value("${app.refresh-tokens.purge.batch-size:1000}") int batchSize,
+                              @Value("${app.refresh-tokens.purge.max-batches:100}") int maxBatches,
+                              @Value("${app.refresh-tokens.purge.revoked-retention-days:7}") long revokedRetentionDays) {
+        this.repo = repo;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.revokedRetention = Duration.ofDays(revokedRetentionDays);
+    }
+
+    @Scheduled(fixedDelayString = "${app.refresh-tokens.purge.interval-ms:3600000}",
+               initialDelayString = "${app.refresh-tokens.purge.initial-delay-ms:120000}")
+    public void purge() {
+        long start = System.currentTimeMillis();
+        Instant now = Instant.now();
+        Instant revokedBefore = now.minus(revokedRetention);
+        long purged = 0;
+        int batches = 0;
+        try {
+            while (batches < maxBatches) {
+                Integer deleted = transactionTemplate.execute(status -> repo.purgeBatch(now, revokedBefore, batchSize));
+                batches++;
+                purged += deleted == null ? 0 : deleted;
+                if (deleted == null || deleted < batchSize) break;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Refresh token purge stopped after {} batches: {}", batches, e.getMessage());
+        }
+        long tookMs = System.currentTimeMillis() - start;
+        lastRun = new LastRun(now, purged, batches, tookMs);
+        if (purged > 0) {
+            log.info("Purged {} refresh tokens in {} batches ({}ms)", purged, batches, tookMs);
+        }
+    }
+
+    public LastRun lastRun() {
+        return lastRun;
+    }
+
+    public record LastRun(Instant startedAt, long purged, int batches, long tookMs) {}
+}
@@ -0,0 +1,41 @@
+package com.samah.store.security;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free token bucket: {@code capacity} tokens, refilled continuously at {@code capacity / refillNanos}.
+ * State is an immutable (tokens, timestamp) pair swapped with CAS, so concurrent callers never block.
+ */
+final class TokenBucket {
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private final AtomicReference<State> state;
+
+    TokenBucket(int capacity, long refillNanos, long nowNanos) {
+        this.capacity = capacity;
+        this.tokensPerNano = capacity / (double) refillNanos;
+        this.state = new AtomicReference<>(new State(capacity, nowNanos));
+    }
+
+    /**
+     * Take one token.
+     * @return 0 if a token was taken, otherwise the nanoseconds until one becomes available
+     */
+    long tryConsume(long nowNanos) {
+        while (true) {
+            State current = state.get();
+            // A caller that read the clock before a racing winner must not move the timestamp back
+            long elapsed = Math.max(0, nowNanos - current.nanos);
+            double tokens = Math.min(capacity, current.tokens + elapsed * tokensPerNano);
+            if (tokens < 1) {
+                return (long) Math.ceil((1 - tokens) / tokensPerNano);
+            }
+            if (state.compareAndSet(current, new State(tokens - 1, Math.max(nowNanos, current.nanos)))) {
+                return 0;
+            }
+        }
+    }
+
+    private record State(double tokens, long nanos) {}
+}
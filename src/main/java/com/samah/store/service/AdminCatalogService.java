@@ -35,6 +35,8 @@ public interface AdminCatalogService {
 
     // ==================== IMAGES ====================
     AdminImageResponse addImage(Long productId, AdminImageRequest request);
+    void requireProduct(Long productId); // NotFoundException if missing; cheap check before bulk uploads
+    List<AdminImageResponse> addImages(Long productId, List<String> urls, Integer startSortOrder); // after existing images when null
     void removeImage(Long productId, Long imageId);
     List<AdminImageResponse> listImagesByProduct(Long productId);
 }
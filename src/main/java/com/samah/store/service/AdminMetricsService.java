@@ -1,13 +1,32 @@
 package com.samah.store.service;
 
+import com.samah.store.domain.enums.OrderStatus;
 import com.samah.store.dto.AdminMetricsDto;
+import com.samah.store.dto.DailyCitySalesDto;
+import com.samah.store.dto.DailySalesPointDto;
+import com.samah.store.dto.DailyVariantSalesDto;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
 public interface AdminMetricsService {
     @Transactional(readOnly = true)
     AdminMetricsDto getMetrics();
 
     @Transactional
     void resetRevenue();
+
+    // Time series read from the daily rollups; null dates default to the last 30 days,
+    // empty statuses to all statuses
+    @Transactional(readOnly = true)
+    List<DailySalesPointDto> getDailySales(LocalDate from, LocalDate to, Set<OrderStatus> statuses);
+
+    @Transactional(readOnly = true)
+    List<DailyVariantSalesDto> getTopVariants(LocalDate from, LocalDate to, Set<OrderStatus> statuses, int limit);
+
+    @Transactional(readOnly = true)
+    List<DailyCitySalesDto> getCitySales(LocalDate from, LocalDate to, Set<OrderStatus> statuses);
 }
 
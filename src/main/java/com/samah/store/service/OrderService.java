@@ -1,15 +1,25 @@
 package com.samah.store.service;
 
+import com.samah.store.domain.enums.OrderStatus;
+import com.samah.store.dto.OrderCursorPageDto;
 import com.samah.store.dto.OrderDto;
 import com.samah.store.dto.OrderPlaceRequest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Collection;
+
 public interface OrderService {
 
+    /**
+     * Place an order from the customer's cart.
+     * When {@code idempotencyKey} is given it is recorded in the same transaction, so a second
+     * commit with the same key fails on the unique constraint; see IdempotentCheckout.
+     */
     @Transactional
-    OrderDto placeOrder(Long customerId, OrderPlaceRequest request);
+    OrderDto placeOrder(Long customerId, OrderPlaceRequest request, String idempotencyKey);
 
     @Transactional(readOnly = true)
     Page<OrderDto> listMyOrders(Long customerId, Pageable pageable);
@@ -23,6 +33,15 @@ public interface OrderService {
     @Transactional(readOnly = true)
     Page<OrderDto> listByDeliveredStatus(boolean delivered, Pageable pageable);
 
+    /**
+     * Keyset-paginated admin order feed, newest first. No total count is computed.
+     * Every filter is optional; {@code from} is inclusive and {@code to} exclusive.
+     * Pass the returned nextCursor back to get the next page.
+     */
+    @Transactional(readOnly = true)
+    OrderCursorPageDto adminFeed(Collection<OrderStatus> statuses, Long employeeId, Instant from, Instant to,
+                                 String cursor, int size);
+
     @Transactional
     OrderDto updateStatus(Long orderId, String status);
 
@@ -1,6 +1,8 @@
 package com.samah.store.service;
 
+import com.samah.store.dto.ProductCursorPageDto;
 import com.samah.store.dto.ProductDto;
+import com.samah.store.dto.ProductFacetsDto;
 import com.samah.store.dto.ProductSummaryDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -11,6 +13,20 @@ public interface ProductService {
     @Transactional(readOnly = true)
     Page<ProductSummaryDto> search(String q, Long categoryId, Double minPrice, Double maxPrice, Pageable pageable);
 
+    /**
+     * Keyset-paginated listing for infinite scroll. Runs no count query; {@code order} is
+     * newest (default), price_asc or price_desc and {@code cursor} is the previous page's nextCursor.
+     */
+    @Transactional(readOnly = true)
+    ProductCursorPageDto scroll(String q, Long categoryId, Double minPrice, Double maxPrice,
+                                String order, String cursor, int size);
+
+    /**
+     * Facet counts (category, price bucket, size, color) for the same filters as {@link #search}.
+     */
+    @Transactional(readOnly = true)
+    ProductFacetsDto facets(String q, Long categoryId, Double minPrice, Double maxPrice);
+
     @Transactional(readOnly = true)
     ProductDto getBySlug(String slug);
 
@@ -0,0 +1,123 @@
+package com.samah.store.service.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.samah.store.config.CacheConfig;
+import com.samah.store.dto.ProductDto;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Public product-detail cache keyed by slug.
+ *
+ * Holds the product's JSON (plain and gzip, see {@link SerializedJson}) with an ETag derived
+ * from that content, so a hot product page is answered without touching the database or Jackson.
+ * The ETag changes whenever anything visible on the page changes (variants, stock, images,
+ * category), not only when the product row itself is updated.
+ *
+ * Invalidation:
+ * - Every catalog write path calls {@link #evict(String...)} with the affected slug(s)
+ * - Entries are evicted immediately and again after commit, so a concurrent reader
+ *   cannot re-populate the cache with pre-commit data
+ * - Every eviction bumps a generation (per slug, plus a global one for evictAll); a loaded
+ *   entry is only stored if no eviction happened since its load started, so a reader that
+ *   loaded before the commit cannot put its stale copy back after the final evict
+ * - Category changes call {@link #evictAll()} because the category is embedded in every entry
+ */
+@Component
+public class ProductDetailCache {
+
+    private final Cache cache;
+    private final ObjectMapper objectMapper;
+
+    private final ConcurrentHashMap<String, Long> generations = new ConcurrentHashMap<>();
+    private final AtomicLong globalGeneration = new AtomicLong();
+
+    public ProductDetailCache(CacheManager cacheManager, ObjectMapper objectMapper) {
+        this.cache = Objects.requireNonNull(cacheManager.getCache(CacheConfig.CACHE_PRODUCT_DETAIL));
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Cached, pre-serialized detail for a public product; calls {@code loader} on a miss.
+     * Exceptions from the loader (e.g. not found) propagate and nothing is cached.
+     */
+    public SerializedJson get(String slug, Function<String, ProductDto> loader) {
+        SerializedJson cached = cache.get(slug, SerializedJson.class);
+        if (cached != null) {
+            return cached;
+        }
+        long global = globalGeneration.get();
+        long generation = generations.getOrDefault(slug, 0L);
+        ProductDto product = loader.apply(slug);
+        SerializedJson detail;
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(product);
+            detail = SerializedJson.of(json, etagOf(product, json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize product " + slug, e);
+        }
+        // compute() holds the slug's bin lock, so an evict() cannot slip between the check and the put
+        generations.compute(slug, (k, current) -> {
+            if ((current == null ? 0L : current) == generation && globalGeneration.get() == global) {
+                cache.put(slug, detail);
+                // evictAll() is not serialized with this lock: undo if it started after the check
+                if (globalGeneration.get() != global) cache.evict(slug);
+            }
+            return current;
+        });
+        return detail;
+    }
+
+    public void evict(String... slugs) {
+        Runnable action = () -> Arrays.stream(slugs).filter(Objects::nonNull).forEach(slug -> {
+            generations.merge(slug, 1L, Long::sum);
+            cache.evict(slug);
+        });
+        action.run();
+        afterCommit(action);
+    }
+
+    public void evictAll() {
+        Runnable action = () -> {
+            globalGeneration.incrementAndGet();
+            cache.clear();
+        };
+        action.run();
+        afterCommit(action);
+    }
+
+    private static String etagOf(ProductDto product, byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            // 64 bits of the content hash is plenty to tell versions of one product apart
+            return "\"p" + product.id() + "-" + HexFormat.of().formatHex(digest, 0, 8) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            long timestamp = product.updatedAt() != null ? product.updatedAt().toEpochMilli() : 0L;
+            return "\"p" + product.id() + "-" + timestamp + "\"";
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        }
+    }
+}
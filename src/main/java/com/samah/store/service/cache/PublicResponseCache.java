@@ -0,0 +1,64 @@
+package com.samah.store.service.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.samah.store.config.CacheConfig;
+import com.samah.store.dto.CategoryDto;
+import com.samah.store.dto.HeroSettingsResponseDto;
+import com.samah.store.service.CategoryService;
+import com.samah.store.service.HeroSettingsService;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Pre-serialized bodies for the public categories and hero endpoints.
+ * Evicted together with the DTO caches ('categories' / 'hero') on every write path.
+ */
+@Component
+public class PublicResponseCache {
+
+    private final CategoryService categoryService;
+    private final HeroSettingsService heroSettingsService;
+    private final ObjectMapper objectMapper;
+
+    public PublicResponseCache(CategoryService categoryService, HeroSettingsService heroSettingsService,
+                               ObjectMapper objectMapper) {
+        this.categoryService = categoryService;
+        this.heroSettingsService = heroSettingsService;
+        this.objectMapper = objectMapper;
+    }
+
+    @Cacheable(value = CacheConfig.CACHE_CATEGORIES_JSON, key = "'public'")
+    public SerializedJson categories() {
+        List<CategoryDto> categories = categoryService.listPublic();
+        return SerializedJson.of(objectMapper, categories, categoriesETag(categories));
+    }
+
+    @Cacheable(value = CacheConfig.CACHE_HERO_JSON, key = "'public'")
+    public SerializedJson hero() {
+        HeroSettingsResponseDto hero = heroSettingsService.getPublicHero();
+        // Use updatedAt timestamp for ETag if available, otherwise hash
+        String etag = hero.updatedAt() != null
+                ? "\"" + hero.updatedAt().toEpochMilli() + "\""
+                : "\"" + Integer.toHexString(hero.hashCode()) + "\"";
+        return SerializedJson.of(objectMapper, hero, etag);
+    }
+
+    /**
+     * Stable ETag for categories list.
+     * Format: "c{count}-{maxUpdatedAtMs}" e.g. "c3-1706012345678"
+     * Changes when: category added/removed OR any category field updated.
+     */
+    private static String categoriesETag(List<CategoryDto> categories) {
+        long maxUpdatedAt = categories.stream()
+                .map(CategoryDto::updatedAt)
+                .filter(Objects::nonNull)
+                .mapToLong(Instant::toEpochMilli)
+                .max()
+                .orElse(0L);
+        return "\"c" + categories.size() + "-" + maxUpdatedAt + "\"";
+    }
+}
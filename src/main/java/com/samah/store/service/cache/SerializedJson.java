@@ -0,0 +1,44 @@
+package com.samah.store.service.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A response body serialized once and kept ready to send.
+ *
+ * Holds the UTF-8 JSON bytes, a gzip copy (null when gzip would not be smaller)
+ * and the ETag, so cached public endpoints skip Jackson and compression on every hit.
+ */
+public record SerializedJson(byte[] json, byte[] gzip, String etag) {
+
+    // Same threshold as server.compression.min-response-size
+    private static final int MIN_GZIP_SIZE = 1024;
+
+    public static SerializedJson of(ObjectMapper objectMapper, Object body, String etag) {
+        try {
+            return of(objectMapper.writeValueAsBytes(body), etag);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize cached response", e);
+        }
+    }
+
+    public static SerializedJson of(byte[] json, String etag) {
+        return new SerializedJson(json, json.length >= MIN_GZIP_SIZE ? gzip(json) : null, etag);
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        byte[] compressed = out.toByteArray();
+        return compressed.length < json.length ? compressed : null;
+    }
+}
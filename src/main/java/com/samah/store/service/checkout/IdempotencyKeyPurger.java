@@ -0,0 +1,63 @@
+package com.samah.store.service.checkout;
+
+import com.samah.store.repository.OrderIdempotencyKeyRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Deletes Idempotency-Keys once they are older than the retention window of {@link IdempotentCheckout}.
+ *
+ * Every keyed checkout inserts a row, so without this order_idempotency_keys grows forever.
+ * A key past the window is treated as new, which matches what the in-memory index already does.
+ * Each batch is its own short transaction; a run stops after {@code max-batches} and the next run continues.
+ */
+@Component
+public class IdempotencyKeyPurger {
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyKeyPurger.class);
+
+    private final OrderIdempotencyKeyRepository repo;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration retention;
+    private final int batchSize;
+    private final int maxBatches;
+
+    public IdempotencyKeyPurger(OrderIdempotencyKeyRepository repo,
+                                TransactionTemplate transactionTemplate,
+                                @Value("${app.checkout.idempotency.retention-hours:24}") long retentionHours,
+                                @Value("${app.checkout.idempotency.purge.batch-size:1000}") int batchSize,
+                                @Value("${app.checkout.idempotency.purge.max-batches:100}") int maxBatches) {
+        this.repo = repo;
+        this.transactionTemplate = transactionTemplate;
+        this.retention = Duration.ofHours(retentionHours);
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+    }
+
+    @Scheduled(fixedDelayString = "${app.checkout.idempotency.purge.interval-ms:3600000}",
+               initialDelayString = "${app.checkout.idempotency.purge.initial-delay-ms:150000}")
+    public void purge() {
+        Instant createdBefore = Instant.now().minus(retention);
+        long purged = 0;
+        int batches = 0;
+        try {
+            while (batches < maxBatches) {
+                Integer deleted = transactionTemplate.execute(status -> repo.purgeBatch(createdBefore, batchSize));
+                batches++;
+                purged += deleted == null ? 0 : deleted;
+                if (deleted == null || deleted < batchSize) break;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Idempotency key purge stopped after {} batches: {}", batches, e.getMessage());
+        }
+        if (purged > 0) {
+            log.info("Purged {} idempotency keys in {} batches", purged, batches);
+        }
+    }
+}
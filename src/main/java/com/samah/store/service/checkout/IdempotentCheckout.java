@@ -0,0 +1,112 @@
+package com.samah.store.service.checkout;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.samah.store.dto.OrderDto;
+import com.samah.store.dto.OrderPlaceRequest;
+import com.samah.store.exception.BadRequestException;
+import com.samah.store.exception.ConflictException;
+import com.samah.store.repository.OrderIdempotencyKeyRepository;
+import com.samah.store.service.OrderService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Idempotent checkout for POST /api/orders with an {@code Idempotency-Key} header.
+ *
+ * Lookup order for a retried key:
+ * 1. In-memory index of recently completed checkouts - returns the stored OrderDto
+ * 2. In-flight set - a duplicate arriving while the first is still running gets 409
+ *    instead of competing for the same cart and stock rows
+ * 3. order_idempotency_keys table - survives restarts and covers other instances
+ *
+ * A key is bound to the body it was first used with ({@link OrderPlaceRequest#fingerprint()}): reusing it
+ * with a different address or coupon gets 409 instead of silently returning the first order.
+ * Keys are remembered for {@code app.checkout.idempotency.retention-hours}; {@link IdempotencyKeyPurger}
+ * deletes older rows, after which the key counts as new.
+ *
+ * Failed checkouts (e.g. out of stock) roll back their key row, so the client may retry them.
+ */
+@Component
+public class IdempotentCheckout {
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final OrderService orderService;
+    private final OrderIdempotencyKeyRepository keyRepository;
+
+    private final Cache<String, Completed> completed;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    public IdempotentCheckout(OrderService orderService,
+                              OrderIdempotencyKeyRepository keyRepository,
+                              @Value("${app.checkout.idempotency.retention-hours:24}") long retentionHours) {
+        this.orderService = orderService;
+        this.keyRepository = keyRepository;
+        this.completed = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofHours(retentionHours))
+                .maximumSize(10_000)
+                .build();
+    }
+
+    public OrderDto placeOrder(Long customerId, OrderPlaceRequest request, String idempotencyKey) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return orderService.placeOrder(customerId, request, null);
+        }
+        String key = idempotencyKey.trim();
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException("Idempotency-Key must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String requestHash = request.fingerprint();
+        String indexKey = customerId + ":" + key;
+        Completed done = completed.getIfPresent(indexKey);
+        if (done != null) {
+            return done.orderFor(requestHash);
+        }
+        if (!inFlight.add(indexKey)) {
+            throw new ConflictException("الطلب قيد المعالجة بالفعل");
+        }
+        try {
+            Optional<Completed> stored = findStored(customerId, key);
+            if (stored.isPresent()) {
+                completed.put(indexKey, stored.get());
+                return stored.get().orderFor(requestHash);
+            }
+            OrderDto placed = orderService.placeOrder(customerId, request, key);
+            completed.put(indexKey, new Completed(requestHash, placed));
+            return placed;
+        } catch (DataIntegrityViolationException e) {
+            // Another instance committed the same key while this one was running
+            Completed winner = findStored(customerId, key).orElseThrow(() -> e);
+            completed.put(indexKey, winner);
+            return winner.orderFor(requestHash);
+        } finally {
+            inFlight.remove(indexKey);
+        }
+    }
+
+    private Optional<Completed> findStored(Long customerId, String key) {
+        return keyRepository.findCompleted(customerId, key)
+                .map(row -> new Completed(row.requestHash(), orderService.getMyOrder(customerId, row.orderId())));
+    }
+
+    /**
+     * A finished checkout and the fingerprint of the body that produced it.
+     */
+    private record Completed(String requestHash, OrderDto order) {
+
+        OrderDto orderFor(String retryHash) {
+            if (!requestHash.equals(retryHash)) {
+                throw new ConflictException("مفتاح الطلب مستخدم مسبقاً لطلب مختلف");
+            }
+            return order;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.samah.store.service.image;
+
+/**
+ * Upload formats we accept, recognized from the file's leading bytes rather than the
+ * client-supplied Content-Type or file name.
+ */
+public enum ImageFormat {
+    JPEG(".jpg"),
+    PNG(".png"),
+    WEBP(".webp");
+
+    /** Bytes needed by {@link #detect(byte[], int)}. */
+    public static final int SIGNATURE_BYTES = 12;
+
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    private final String extension;
+
+    ImageFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    /**
+     * @return the format whose magic bytes start {@code head}, or null if none match
+     */
+    public static ImageFormat detect(byte[] head, int length) {
+        // FF D8 FF: JPEG SOI marker followed by the first segment marker
+        if (length >= 3 && (head[0] & 0xFF) == 0xFF && (head[1] & 0xFF) == 0xD8 && (head[2] & 0xFF) == 0xFF) {
+            return JPEG;
+        }
+        if (startsWith(head, length, 0, PNG_SIGNATURE)) {
+            return PNG;
+        }
+        // RIFF <size:4> WEBP
+        if (startsWith(head, length, 0, new byte[]{'R', 'I', 'F', 'F'})
+                && startsWith(head, length, 8, new byte[]{'W', 'E', 'B', 'P'})) {
+            return WEBP;
+        }
+        return null;
+    }
+
+    private static boolean startsWith(byte[] head, int length, int offset, byte[] signature) {
+        if (length < offset + signature.length) return false;
+        for (int i = 0; i < signature.length; i++) {
+            if (head[offset + i] != signature[i]) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,34 @@
+package com.samah.store.service.image;
+
+/**
+ * Resized copies written next to every uploaded original, as {@code <name>-<suffix>.jpg}.
+ * Widths are upper bounds; images are never upscaled.
+ */
+public enum ImageRendition {
+    THUMBNAIL("thumb", 400),   // product grids, cart, thumbnails strip
+    DETAIL("detail", 1000),    // product page main image
+    ZOOM("zoom", 2000);        // full-screen / zoom
+
+    private final String suffix;
+    private final int maxWidth;
+
+    ImageRendition(String suffix, int maxWidth) {
+        this.suffix = suffix;
+        this.maxWidth = maxWidth;
+    }
+
+    public int maxWidth() {
+        return maxWidth;
+    }
+
+    public String fileName(String baseName) {
+        return baseName + "-" + suffix + ".jpg";
+    }
+
+    static boolean isRenditionFile(String fileName) {
+        for (ImageRendition r : values()) {
+            if (fileName.endsWith("-" + r.suffix + ".jpg")) return true;
+        }
+        return false;
+    }
+}
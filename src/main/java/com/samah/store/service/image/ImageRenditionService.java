@@ -0,0 +1,368 @@
+package com.samah.store.service.image;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.samah.store.exception.BadRequestException;
+import com.samah.store.exception.ServiceUnavailableException;
+import com.samah.store.service.cache.ProductDetailCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Stream;
+
+/**
+ * Generates and resolves the resized JPEG renditions of uploaded images (see {@link ImageRendition}).
+ *
+ * Behavior:
+ * - {@link #generate(Path)} decodes the original once on the bounded imageProcessingExecutor and
+ *   writes every rendition from that single decode; a full pool answers 503
+ * - {@link #urlsFor(String)} maps an image URL to its rendition URLs, falling back to the original
+ *   for images without renditions (external URLs, WebP uploads, not yet backfilled files).
+ *   Lookups are cached so DTO mapping does not touch the filesystem per request
+ * - {@link #newBatch()} runs several originals in parallel for bulk uploads, bounded by the pool size
+ * - On startup, originals uploaded before this pipeline are backfilled in the background
+ *
+ * WebP is accepted for upload but ImageIO cannot decode it, so WebP originals are served as-is.
+ */
+@Service
+public class ImageRenditionService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageRenditionService.class);
+
+    private static final long MAX_PIXELS = 40_000_000L; // ~160MB decoded as ARGB
+    private static final float JPEG_QUALITY = 0.82f;
+    private static final long WAIT_SECONDS = 30;
+
+    private final ThreadPoolTaskExecutor executor;
+    private final ProductDetailCache productDetailCache;
+    private final Path uploadPath;
+    private final String baseUrl;
+    private final boolean backfillOnStartup;
+
+    private final Cache<String, RenditionUrls> urls = Caffeine.newBuilder()
+            .maximumSize(20_000)
+            .build();
+
+    public ImageRenditionService(@Qualifier("imageProcessingExecutor") ThreadPoolTaskExecutor executor,
+                                 ProductDetailCache productDetailCache,
+                                 @Value("${app.upload.dir:uploads}") String uploadDir,
+                                 @Value("${app.upload.base-url:/uploads}") String baseUrl,
+                                 @Value("${app.upload.renditions.backfill-on-startup:true}") boolean backfillOnStartup) {
+        this.executor = executor;
+        this.productDetailCache = productDetailCache;
+        this.uploadPath = Paths.get(uploadDir).toAbsolutePath().normalize();
+        this.baseUrl = baseUrl;
+        this.backfillOnStartup = backfillOnStartup;
+    }
+
+    /**
+     * Write all renditions of a stored original, waiting for the worker pool.
+     * Returns false when the format cannot be decoded (the original is then served as-is).
+     */
+    public boolean generate(Path original) {
+        Future<Boolean> future;
+        try {
+            future = executor.submit(() -> writeRenditions(original));
+        } catch (TaskRejectedException e) {
+            throw busy();
+        }
+        return await(future);
+    }
+
+    /**
+     * Starts a batch of concurrent {@link #generate(Path)} calls for a multi-image upload.
+     */
+    public Batch newBatch() {
+        return new Batch();
+    }
+
+    /**
+     * Renditions for several originals, generated in parallel while the caller keeps receiving
+     * the next upload. A batch holds at most one task per pool thread, so a bulk upload never
+     * fills the shared queue and single uploads still get through; {@link #submit(Path)} blocks
+     * until a slot is free.
+     */
+    public final class Batch {
+
+        private final Semaphore slots = new Semaphore(Math.max(1, executor.getMaxPoolSize()));
+        private final List<Future<Boolean>> futures = new ArrayList<>();
+
+        private Batch() {
+        }
+
+        public void submit(Path original) {
+            try {
+                if (!slots.tryAcquire(WAIT_SECONDS, TimeUnit.SECONDS)) throw busy();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServiceUnavailableException("تعذرت معالجة الصورة");
+            }
+            try {
+                futures.add(executor.submit(() -> {
+                    try {
+                        return writeRenditions(original);
+                    } finally {
+                        slots.release();
+                    }
+                }));
+            } catch (TaskRejectedException e) {
+                slots.release();
+                cancel();
+                throw busy();
+            }
+        }
+
+        /**
+         * Wait for every submitted original; on the first failure the rest are cancelled.
+         */
+        public void await() {
+            try {
+                for (Future<Boolean> future : futures) {
+                    ImageRenditionService.this.await(future);
+                }
+            } catch (RuntimeException e) {
+                cancel();
+                throw e;
+            }
+        }
+
+        public void cancel() {
+            futures.forEach(f -> f.cancel(true));
+        }
+    }
+
+    private static boolean await(Future<Boolean> future) {
+        try {
+            return future.get(WAIT_SECONDS, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new ServiceUnavailableException("انتهت مهلة معالجة الصورة - يرجى المحاولة مرة أخرى");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("تعذرت معالجة الصورة");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new BadRequestException("تعذرت معالجة الصورة: " + e.getCause().getMessage());
+        }
+    }
+
+    private static ServiceUnavailableException busy() {
+        return new ServiceUnavailableException("خدمة معالجة الصور مشغولة حالياً - يرجى المحاولة بعد لحظات");
+    }
+
+    public boolean hasRenditions(Path original) {
+        return Files.exists(original.resolveSibling(
+                ImageRendition.THUMBNAIL.fileName(baseName(original.getFileName().toString()))));
+    }
+
+    public RenditionUrls urlsFor(String url) {
+        if (url == null) return null;
+        String fileName = localFileName(url);
+        if (fileName == null) return RenditionUrls.same(url);
+        return urls.get(fileName, f -> resolve(url, f));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        if (!backfillOnStartup || !Files.isDirectory(uploadPath)) return;
+        try {
+            executor.submit(this::backfillAll);
+        } catch (TaskRejectedException e) {
+            log.warn("Image rendition backfill not started: worker pool is full");
+        }
+    }
+
+    // ==================== WORKER SIDE ====================
+
+    private boolean writeRenditions(Path original) throws IOException {
+        BufferedImage image = decode(original);
+        if (image == null) return false;
+
+        String baseName = baseName(original.getFileName().toString());
+        // Largest first, each step resized from the previous one: one decode, cheap downscales
+        BufferedImage source = image;
+        ImageRendition[] renditions = ImageRendition.values();
+        for (int i = renditions.length - 1; i >= 0; i--) {
+            ImageRendition rendition = renditions[i];
+            source = resize(source, rendition.maxWidth());
+            Path target = original.resolveSibling(rendition.fileName(baseName));
+            writeJpeg(source, target);
+        }
+        urls.invalidate(original.getFileName().toString());
+        return true;
+    }
+
+    private static BufferedImage decode(Path original) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(original.toFile())) {
+            if (in == null) return null;
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) return null;
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > MAX_PIXELS) {
+                    throw new BadRequestException("أبعاد الصورة كبيرة جداً");
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Downscale to at most {@code maxWidth}, halving first so bilinear filtering stays sharp.
+     * Always returns an opaque RGB image (alpha is flattened onto white) ready for JPEG.
+     */
+    private static BufferedImage resize(BufferedImage src, int maxWidth) {
+        int width = src.getWidth();
+        int height = src.getHeight();
+        BufferedImage current = src;
+        while (width / 2 >= maxWidth) {
+            width /= 2;
+            height = Math.max(1, height / 2);
+            current = draw(current, width, height);
+        }
+        if (width > maxWidth) {
+            height = Math.max(1, (int) Math.round(height * (maxWidth / (double) width)));
+            width = maxWidth;
+            current = draw(current, width, height);
+        }
+        return current.getType() == BufferedImage.TYPE_INT_RGB ? current : draw(current, width, height);
+    }
+
+    private static BufferedImage draw(BufferedImage src, int width, int height) {
+        BufferedImage out = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = out.createGraphics();
+        try {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, width, height);
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(src, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return out;
+    }
+
+    private static void writeJpeg(BufferedImage image, Path target) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(JPEG_QUALITY);
+        param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+        // Write to a temp file and move, so readers never see a half-written rendition
+        Path tmp = target.resolveSibling(target.getFileName() + "." + UUID.randomUUID() + ".tmp");
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(tmp.toFile())) {
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void backfillAll() {
+        long start = System.currentTimeMillis();
+        int generated = 0;
+        List<Path> originals;
+        try (Stream<Path> files = Files.list(uploadPath)) {
+            originals = files.filter(Files::isRegularFile)
+                    .filter(p -> isOriginal(p.getFileName().toString()))
+                    .filter(p -> !hasRenditions(p))
+                    .toList();
+        } catch (IOException e) {
+            log.warn("Image rendition backfill could not list {}: {}", uploadPath, e.getMessage());
+            return;
+        }
+        for (Path original : originals) {
+            try {
+                if (writeRenditions(original)) generated++;
+            } catch (IOException | RuntimeException e) {
+                log.warn("Image rendition backfill skipped {}: {}", original.getFileName(), e.getMessage());
+            }
+        }
+        if (generated > 0) {
+            productDetailCache.evictAll();
+            log.info("Image rendition backfill generated renditions for {} images in {}ms",
+                    generated, System.currentTimeMillis() - start);
+        }
+    }
+
+    // ==================== URL MAPPING ====================
+
+    private String localFileName(String url) {
+        String prefix = baseUrl + "/";
+        if (!url.startsWith(prefix)) return null;
+        String fileName = url.substring(prefix.length());
+        if (fileName.isEmpty() || fileName.contains("/") || fileName.contains("\\") || fileName.contains("..")) {
+            return null;
+        }
+        return fileName;
+    }
+
+    private RenditionUrls resolve(String url, String fileName) {
+        String baseName = baseName(fileName);
+        Map<ImageRendition, String> byRendition = new EnumMap<>(ImageRendition.class);
+        for (ImageRendition r : ImageRendition.values()) {
+            String renditionFile = r.fileName(baseName);
+            byRendition.put(r, Files.exists(uploadPath.resolve(renditionFile)) ? baseUrl + "/" + renditionFile : url);
+        }
+        return new RenditionUrls(url, byRendition.get(ImageRendition.THUMBNAIL),
+                byRendition.get(ImageRendition.DETAIL), byRendition.get(ImageRendition.ZOOM));
+    }
+
+    private static boolean isOriginal(String fileName) {
+        String lower = fileName.toLowerCase();
+        return (lower.endsWith(".jpg") || lower.endsWith(".jpeg") || lower.endsWith(".png"))
+                && !ImageRendition.isRenditionFile(fileName);
+    }
+
+    private static String baseName(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        return dot > 0 ? fileName.substring(0, dot) : fileName;
+    }
+
+    public record RenditionUrls(String original, String thumbnail, String detail, String zoom) {
+        static RenditionUrls same(String url) {
+            return new RenditionUrls(url, url, url, url);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.samah.store.service.image;
+
+import com.samah.store.exception.BadRequestException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Content-addressed storage for uploaded images.
+ *
+ * An upload is streamed to a temp file in the upload directory while a SHA-256 digest is computed,
+ * then atomically renamed to {@code <first 32 hex chars of the hash><extension>}. Re-uploading the
+ * same bytes therefore yields the same file and URL, and a URL's content never changes, which is
+ * what lets /uploads/** be served as immutable.
+ *
+ * Content is validated while it streams: the format comes from the leading magic bytes and the
+ * size limit is enforced per chunk, so an oversized or fake upload is rejected without ever being
+ * held in memory or left on disk.
+ */
+@Service
+public class ImageUploadStorage {
+
+    private static final int HASH_HEX_CHARS = 32; // 128 bits
+
+    private final Path uploadPath;
+    private final String baseUrl;
+    private final long maxFileBytes;
+
+    public ImageUploadStorage(@Value("${app.upload.dir:uploads}") String uploadDir,
+                              @Value("${app.upload.base-url:/uploads}") String baseUrl,
+                              @Value("${app.upload.max-file-size:5MB}") DataSize maxFileSize) {
+        this.uploadPath = Paths.get(uploadDir).toAbsolutePath().normalize();
+        this.baseUrl = baseUrl;
+        this.maxFileBytes = maxFileSize.toBytes();
+    }
+
+    public long maxFileBytes() {
+        return maxFileBytes;
+    }
+
+    /**
+     * Stream an uploaded image to storage.
+     *
+     * @throws BadRequestException if the content is empty, not JPEG/PNG/WebP, or over the size limit
+     */
+    public StoredImage store(InputStream content) throws IOException {
+        byte[] head = content.readNBytes(ImageFormat.SIGNATURE_BYTES);
+        if (head.length == 0) {
+            throw new BadRequestException("الملف فارغ");
+        }
+        ImageFormat format = ImageFormat.detect(head, head.length);
+        if (format == null) {
+            throw new BadRequestException("نوع الملف غير مدعوم. يجب أن يكون jpg, png, أو webp");
+        }
+
+        Files.createDirectories(uploadPath);
+        Path tmp = uploadPath.resolve("upload-" + UUID.randomUUID() + ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            try (InputStream in = new SequenceInputStream(new ByteArrayInputStream(head), content);
+                 OutputStream out = new DigestOutputStream(Files.newOutputStream(tmp), digest)) {
+                copyWithLimit(in, out);
+            }
+            String extension = format.extension();
+            String fileName = HexFormat.of().formatHex(digest.digest()).substring(0, HASH_HEX_CHARS) + extension;
+            Path target = uploadPath.resolve(fileName);
+
+            boolean deduplicated = Files.exists(target);
+            if (!deduplicated) {
+                // Same name implies same bytes, so losing a race to an identical upload is harmless
+                Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return new StoredImage(target, fileName, baseUrl + "/" + fileName, deduplicated);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private void copyWithLimit(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[16 * 1024];
+        long total = 0;
+        int n;
+        while ((n = in.read(buffer)) > 0) {
+            total += n;
+            if (total > maxFileBytes) {
+                throw new BadRequestException("حجم الملف كبير جداً. الحد الأقصى "
+                        + DataSize.ofBytes(maxFileBytes).toMegabytes() + " ميجابايت");
+            }
+            out.write(buffer, 0, n);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public record StoredImage(Path path, String fileName, String url, boolean deduplicated) {}
+}
@@ -1,5 +1,6 @@
 package com.samah.store.service.impl;
 
+import com.samah.store.config.CacheConfig;
 import com.samah.store.domain.entites.*;
 import com.samah.store.dto.admin.*;
 import com.samah.store.exception.BadRequestException;
@@ -7,7 +8,10 @@ import com.samah.store.exception.ConflictException;
 import com.samah.store.exception.NotFoundException;
 import com.samah.store.repository.*;
 import com.samah.store.service.AdminCatalogService;
+import com.samah.store.service.cache.ProductDetailCache;
+import com.samah.store.service.search.ProductSearchIndex;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -15,6 +19,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.text.Normalizer;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -31,6 +36,8 @@ public class AdminCatalogServiceImpl implements AdminCatalogService {
     private final ProductImageRepository imageRepository;
     private final CartItemRepository cartItemRepository;
     private final OrderItemRepository orderItemRepository;
+    private final ProductSearchIndex searchIndex;
+    private final ProductDetailCache productDetailCache;
 
     private static final Pattern NONLATIN = Pattern.compile("[^\\w-]");
     private static final Pattern WHITESPACE = Pattern.compile("[\\s]");
@@ -39,6 +46,7 @@ public class AdminCatalogServiceImpl implements AdminCatalogService {
 
     @Override
     @Transactional
+    @CacheEvict(value = {CacheConfig.CACHE_CATEGORIES, CacheConfig.CACHE_CATEGORIES_JSON}, allEntries = true)
     public AdminCategoryResponse createCategory(AdminCategoryRequest request) {
         Category category = new Category();
         category.setName(request.name());
@@ -52,6 +60,7 @@ public class AdminCatalogServiceImpl implements AdminCatalogService {
 
     @Override
     @Transactional
+    @CacheEvict(value = {CacheConfig.CACHE_CATEGORIES, CacheConfig.CACHE_CATEGORIES_JSON}, allEntries = true)
     public AdminCategoryResponse updateCategory(Long id, AdminCategoryRequest request) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Category not found with id: " + id));
@@ -65,12 +74,14 @@ public class AdminCatalogServiceImpl implements AdminCatalogService {
         }
 
         Category saved = categoryRepository.save(category);
+        productDetailCache.evictAll();
         int productCount = countProductsByCategory(id);
         return mapCategoryToResponse(saved, productCount);
     }
 
     @Override
     @Transactional
+    @CacheEvict(value = {CacheConfig.CACHE_CATEGORIES, CacheConfig.CACHE_CATEGORIES_JSON}, allEntries = true)
     public void deleteCategory(Long id) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Category not found with id: " + id));
@@ -88,6 +99,7 @@ public class AdminCatalogServiceImpl implements AdminCatalogService {
 
     @Override
     @Transactional
+    @CacheEvict(value = {CacheConfig.CACHE_CATEGORIES, CacheConfig.CACHE_CATEGORIES_JSON}, allEntries = true)
     public void deleteCategoryPermanently(Long id) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Category not found with id: " + id));
@@ -103,11 +115,13 @@ public class AdminCatalogServiceImpl implements AdminCatalogService {
 
     @Override
     @Transactional
+    @CacheEvict(value = {CacheConfig.CACHE_CATEGORIES, CacheConfig.CACHE_CATEGORIES_JSON}, allEntries = true)
     public AdminCategoryResponse toggleCategoryStatus(Long id, Boolean active) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Category not found with id: " + id));
         category.setActive(active != null ? active : !category.isActive());
         Category saved = categoryRepository.save(category);
+        productDetailCache.evictAll();
         int productCount = countProductsByCategory(id);
         return mapCategoryToResponse(saved, productCount);
     }
@@ -151,6 +165,7 @@ public class AdminCatalogServiceImpl implements AdminCatalogService {
         product.setActive(request.active() != null ? request.active() : true);
 
         Product saved = productRepository.save(product);
+        searchIndex.refresh(saved.getId());
         return mapProductToResponse(saved, List.of(), List.of());
     }
 
@@ -163,6 +178,7 @@ public class AdminCatalogServiceImpl implements AdminCatalogService {
         Category category = categoryRepository.findById(request.categoryId())
                 .orElseThrow(() -> new NotFoundException("Category not found with id: " + request.categoryId()));
 
+        String previousSlug = product.getSlug();
         product.setName(request.name());
         if (request.slug() != null && !request.slug().isBlank()) {
             product.setSlug(request.slug());
@@ -174,6 +190,8 @@ public class AdminCatalogServiceImpl implements AdminCatalogService {
         }
 
         Product saved = productRepository.save(product);
+        searchIndex.refresh(saved.getId());
+        productDetailCache.evict(previousSlug, saved.getSlug());
 
         List<ProductVariant> variants = variantRepository.findByProductId(id);
         List<ProductImage> images = imageRepository.findByProductIdOrderBySortOrderAsc(id);
@@ -202,6 +220,9 @@ public class AdminCatalogServiceImpl implements AdminCatalogService {
         product.setDeleted(true);
         product.setActive(false);
         productRepository.save(product);
+        productRepository.refreshPriceSummary(List.of(id));
+        searchIndex.remove(id);
+        productDetailCache.evict(product.getSlug());
     }
 
     @Override
@@ -228,6 +249,8 @@ public class AdminCatalogServiceImpl implements AdminCatalogService {
 
         // Delete product
         productRepository.delete(product);
+        searchIndex.remove(id);
+        productDetailCache.evict(product.getSlug());
     }
 
     @Override
@@ -237,6 +260,8 @@ public class AdminCatalogServiceImpl implements AdminCatalogService {
                 .orElseThrow(() -> new NotFoundException("Product not found with id: " + id));
         product.setActive(active != null ? active : !product.isActive());
         Product saved = productRepository.save(product);
+        searchIndex.refresh(saved.getId());
+        productDetailCache.evict(saved.getSlug());
 
         List<ProductVariant> variants = variantRepository.findByProductId(id);
         List<ProductImage> images = imageRepository.findByProductIdOrderBySortOrderAsc(id);
@@ -344,6 +369,9 @@ public class AdminCatalogServiceImpl implements AdminCatalogService {
         variant.setActive(request.active() != null ? request.active() : true);
 
         ProductVariant saved = variantRepository.save(variant);
+        productRepository.refreshPriceSummary(List.of(saved.getProduct().getId()));
+        searchIndex.refresh(saved.getProduct().getId());
+        productDetailCache.evict(saved.getProduct().getSlug());
         return mapVariantToResponse(saved);
     }
 
@@ -370,6 +398,9 @@ public class AdminCatalogServiceImpl implements AdminCatalogService {
         }
 
         ProductVariant saved = variantRepository.save(variant);
+        productRepository.refreshPriceSummary(List.of(saved.getProduct().getId()));
+        searchIndex.refresh(saved.getProduct().getId());
+        productDetailCache.evict(saved.getProduct().getSlug());
         return mapVariantToResponse(saved);
     }
 
@@ -383,6 +414,9 @@ public class AdminCatalogServiceImpl implements AdminCatalogService {
         variant.setDeleted(true);
         variant.setActive(false);
         variantRepository.save(variant);
+        productRepository.refreshPriceSummary(List.of(variant.getProduct().getId()));
+        searchIndex.refresh(variant.getProduct().getId());
+        productDetailCache.evict(variant.getProduct().getSlug());
     }
 
     @Override
@@ -397,6 +431,8 @@ public class AdminCatalogServiceImpl implements AdminCatalogService {
 
         variant.setStockQuantity(stockQuantity);
         ProductVariant saved = variantRepository.save(variant);
+        searchIndex.refresh(saved.getProduct().getId());
+        productDetailCache.evict(saved.getProduct().getSlug());
         return mapVariantToResponse(saved);
     }
 
@@ -425,9 +461,47 @@ public class AdminCatalogServiceImpl implements AdminCatalogService {
         image.setSortOrder(request.sortOrder() != null ? request.sortOrder() : 0);
 
         ProductImage saved = imageRepository.save(image);
+        productDetailCache.evict(product.getSlug());
         return mapImageToResponse(saved);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public void requireProduct(Long productId) {
+        if (!productRepository.existsById(productId)) {
+            throw new NotFoundException("Product not found with id: " + productId);
+        }
+    }
+
+    @Override
+    @Transactional
+    public List<AdminImageResponse> addImages(Long productId, List<String> urls, Integer startSortOrder) {
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new NotFoundException("Product not found with id: " + productId));
+
+        int sortOrder;
+        if (startSortOrder != null) {
+            sortOrder = startSortOrder;
+        } else {
+            Integer max = imageRepository.findMaxSortOrder(productId);
+            sortOrder = max == null ? 0 : max + 1;
+        }
+
+        List<ProductImage> images = new ArrayList<>(urls.size());
+        for (String url : urls) {
+            ProductImage image = new ProductImage();
+            image.setProduct(product);
+            image.setUrl(url);
+            image.setSortOrder(sortOrder++);
+            images.add(image);
+        }
+
+        // Pooled ids: one sequence call per 50 rows, inserts go out as JDBC batches
+        List<ProductImage> saved = imageRepository.saveAll(images);
+        productDetailCache.evict(product.getSlug());
+        return saved.stream().map(this::mapImageToResponse).toList();
+    }
+
     @Override
     @Transactional
     public void removeImage(Long productId, Long imageId) {
@@ -439,6 +513,7 @@ public class AdminCatalogServiceImpl implements AdminCatalogService {
         }
 
         imageRepository.delete(image);
+        productDetailCache.evict(image.getProduct().getSlug());
     }
 
     @Override
@@ -3,26 +3,51 @@ package com.samah.store.service.impl;
 import com.samah.store.domain.entites.AdminMetricConfig;
 import com.samah.store.domain.enums.OrderStatus;
 import com.samah.store.dto.AdminMetricsDto;
+import com.samah.store.dto.DailyCitySalesDto;
+import com.samah.store.dto.DailySalesPointDto;
+import com.samah.store.dto.DailyVariantSalesDto;
+import com.samah.store.exception.BadRequestException;
 import com.samah.store.repository.AdminMetricConfigRepository;
 import com.samah.store.repository.OrderRepository;
+import com.samah.store.repository.OrderRollupRepository;
 import com.samah.store.service.AdminMetricsService;
+import com.samah.store.service.metrics.OrderMetricsAggregate;
+import com.samah.store.service.metrics.OrderRollupJob;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class AdminMetricsServiceImpl implements AdminMetricsService {
 
+    private static final int DEFAULT_RANGE_DAYS = 30;
+    private static final int MAX_RANGE_DAYS = 366;
+    private static final int MAX_TOP_VARIANTS = 100;
+
     private final OrderRepository orderRepository;
     private final AdminMetricConfigRepository metricConfigRepository;
+    private final OrderMetricsAggregate metricsAggregate;
+    private final OrderRollupRepository rollupRepository;
+    private final OrderRollupJob rollupJob;
 
     @Override
     public AdminMetricsDto getMetrics() {
+        OrderMetricsAggregate.Snapshot snapshot = metricsAggregate.snapshot();
+        if (snapshot != null) {
+            return snapshot.toDto();
+        }
+
+        // Not seeded yet (startup): compute from the database
         AdminMetricConfig config = getOrCreateConfig();
 
         // Get today's start time
@@ -54,8 +79,46 @@ public class AdminMetricsServiceImpl implements AdminMetricsService {
         AdminMetricConfig config = getOrCreateConfig();
         config.setRevenueResetAt(Instant.now());
         metricConfigRepository.save(config);
+        metricsAggregate.revenueReset(config.getRevenueResetAt());
+    }
+
+    @Override
+    public List<DailySalesPointDto> getDailySales(LocalDate from, LocalDate to, Set<OrderStatus> statuses) {
+        DayRange range = range(from, to);
+        return rollupRepository.findDailySeries(range.from(), range.to(), statusesOrAll(statuses));
     }
 
+    @Override
+    public List<DailyVariantSalesDto> getTopVariants(LocalDate from, LocalDate to, Set<OrderStatus> statuses, int limit) {
+        DayRange range = range(from, to);
+        int size = Math.max(1, Math.min(limit, MAX_TOP_VARIANTS));
+        return rollupRepository.findTopVariants(range.from(), range.to(), statusesOrAll(statuses), Limit.of(size));
+    }
+
+    @Override
+    public List<DailyCitySalesDto> getCitySales(LocalDate from, LocalDate to, Set<OrderStatus> statuses) {
+        DayRange range = range(from, to);
+        return rollupRepository.findCityTotals(range.from(), range.to(), statusesOrAll(statuses));
+    }
+
+    private DayRange range(LocalDate from, LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now(rollupJob.zone());
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_RANGE_DAYS - 1);
+        if (start.isAfter(end)) {
+            throw new BadRequestException("from must not be after to");
+        }
+        if (ChronoUnit.DAYS.between(start, end) >= MAX_RANGE_DAYS) {
+            throw new BadRequestException("Date range must be at most " + MAX_RANGE_DAYS + " days");
+        }
+        return new DayRange(start, end);
+    }
+
+    private static Set<OrderStatus> statusesOrAll(Set<OrderStatus> statuses) {
+        return statuses == null || statuses.isEmpty() ? EnumSet.allOf(OrderStatus.class) : statuses;
+    }
+
+    private record DayRange(LocalDate from, LocalDate to) {}
+
     private AdminMetricConfig getOrCreateConfig() {
         return metricConfigRepository.findById(1L)
                 .orElseGet(() -> {
@@ -1,11 +1,13 @@
 package com.samah.store.service.impl;
 
+import com.samah.store.config.CacheConfig;
 import com.samah.store.domain.entites.Category;
 import com.samah.store.dto.CategoryDto;
 import com.samah.store.exception.ConflictException;
 import com.samah.store.exception.NotFoundException;
 import com.samah.store.repository.CategoryRepository;
 import com.samah.store.service.CategoryService;
+import com.samah.store.service.cache.ProductDetailCache;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
@@ -17,14 +19,16 @@ import java.util.List;
 public class CategoryServiceImpl implements CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final ProductDetailCache productDetailCache;
 
-    public CategoryServiceImpl(CategoryRepository categoryRepository) {
+    public CategoryServiceImpl(CategoryRepository categoryRepository, ProductDetailCache productDetailCache) {
         this.categoryRepository = categoryRepository;
+        this.productDetailCache = productDetailCache;
     }
 
     @Override
     @Transactional
-    @CacheEvict(value = "categories", allEntries = true)
+    @CacheEvict(value = {CacheConfig.CACHE_CATEGORIES, CacheConfig.CACHE_CATEGORIES_JSON}, allEntries = true)
     public CategoryDto create(String name, String slug, boolean active) {
         categoryRepository.findBySlug(slug).ifPresent(c -> {
             throw new ConflictException("Category slug already exists");
@@ -39,7 +43,7 @@ public class CategoryServiceImpl implements CategoryService {
 
     @Override
     @Transactional
-    @CacheEvict(value = "categories", allEntries = true)
+    @CacheEvict(value = {CacheConfig.CACHE_CATEGORIES, CacheConfig.CACHE_CATEGORIES_JSON}, allEntries = true)
     public CategoryDto update(Long id, String name, String slug, boolean active) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Category not found"));
@@ -49,12 +53,15 @@ public class CategoryServiceImpl implements CategoryService {
         category.setName(name);
         category.setSlug(slug);
         category.setActive(active);
-        return toDto(categoryRepository.save(category));
+        CategoryDto saved = toDto(categoryRepository.save(category));
+        // Every cached product page embeds its category
+        productDetailCache.evictAll();
+        return saved;
     }
 
     @Override
     @Transactional
-    @CacheEvict(value = "categories", allEntries = true)
+    @CacheEvict(value = {CacheConfig.CACHE_CATEGORIES, CacheConfig.CACHE_CATEGORIES_JSON}, allEntries = true)
     public void delete(Long id) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Category not found"));
@@ -1,5 +1,6 @@
 package com.samah.store.service.impl;
 
+import com.samah.store.config.CacheConfig;
 import com.samah.store.domain.entites.HeroSettings;
 import com.samah.store.dto.HeroSettingsRequestDto;
 import com.samah.store.dto.HeroSettingsResponseDto;
@@ -36,7 +37,7 @@ public class HeroSettingsServiceImpl implements HeroSettingsService {
 
     @Override
     @Transactional
-    @CacheEvict(value = "hero", allEntries = true)
+    @CacheEvict(value = {CacheConfig.CACHE_HERO, CacheConfig.CACHE_HERO_JSON}, allEntries = true)
     public HeroSettingsResponseDto updateHero(HeroSettingsRequestDto dto) {
         HeroSettings settings = getOrCreateDefaultSettings();
 
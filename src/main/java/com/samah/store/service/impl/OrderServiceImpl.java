@@ -9,58 +9,103 @@ import com.samah.store.exception.BadRequestException;
 import com.samah.store.exception.ForbiddenException;
 import com.samah.store.exception.NotFoundException;
 import com.samah.store.repository.*;
+import com.samah.store.repository.projection.OrderItemRow;
+import com.samah.store.repository.projection.OrderSummaryRow;
+import com.samah.store.repository.projection.VariantStockRow;
 import com.samah.store.service.OrderService;
 import com.samah.store.service.ShippingService;
+import com.samah.store.service.cache.ProductDetailCache;
+import com.samah.store.service.metrics.OrderMetricsAggregate;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
 
 @Service
 public class OrderServiceImpl implements OrderService {
 
+    private static final int MAX_FEED_SIZE = 100;
+    // Open upper bound for the feed's date range; Postgres timestamps go up to year 294276
+    private static final Instant FEED_END_OF_TIME = Instant.parse("9999-12-31T00:00:00Z");
+
     private final CartRepository cartRepository;
     private final CartItemRepository cartItemRepository;
     private final AddressRepository addressRepository;
     private final ProductVariantRepository variantRepository;
+    private final ProductRepository productRepository;
     private final OrderRepository orderRepository;
     private final OrderItemRepository orderItemRepository;
     private final CouponRepository couponRepository;
     private final CouponUsageRepository couponUsageRepository;
     private final ShippingService shippingService;
     private final UserRepository userRepository;
+    private final ProductDetailCache productDetailCache;
+    private final OrderIdempotencyKeyRepository idempotencyKeyRepository;
+    private final OrderMetricsAggregate metricsAggregate;
 
     public OrderServiceImpl(CartRepository cartRepository,
                             CartItemRepository cartItemRepository,
                             AddressRepository addressRepository,
                             ProductVariantRepository variantRepository,
+                            ProductRepository productRepository,
                             OrderRepository orderRepository,
                             OrderItemRepository orderItemRepository,
                             CouponRepository couponRepository,
                             CouponUsageRepository couponUsageRepository,
                             ShippingService shippingService,
-                            UserRepository userRepository) {
+                            UserRepository userRepository,
+                            ProductDetailCache productDetailCache,
+                            OrderIdempotencyKeyRepository idempotencyKeyRepository,
+                            OrderMetricsAggregate metricsAggregate) {
         this.cartRepository = cartRepository;
         this.cartItemRepository = cartItemRepository;
         this.addressRepository = addressRepository;
         this.variantRepository = variantRepository;
+        this.productRepository = productRepository;
         this.orderRepository = orderRepository;
         this.orderItemRepository = orderItemRepository;
         this.couponRepository = couponRepository;
         this.couponUsageRepository = couponUsageRepository;
         this.shippingService = shippingService;
         this.userRepository = userRepository;
+        this.productDetailCache = productDetailCache;
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.metricsAggregate = metricsAggregate;
     }
 
     @Override
     @Transactional
-    public OrderDto placeOrder(Long customerId, OrderPlaceRequest request) {
+    public OrderDto placeOrder(Long customerId, OrderPlaceRequest request, String idempotencyKey) {
+        // Claim the key before touching cart, stock or coupons: a concurrent duplicate
+        // blocks on the unique index here and fails once this transaction commits
+        OrderIdempotencyKey claimedKey = null;
+        if (idempotencyKey != null) {
+            claimedKey = new OrderIdempotencyKey();
+            claimedKey.setCustomerId(customerId);
+            claimedKey.setIdempotencyKey(idempotencyKey);
+            claimedKey.setRequestHash(request.fingerprint());
+            claimedKey = idempotencyKeyRepository.saveAndFlush(claimedKey);
+        }
+
         // Validate cart exists and has items
         Cart cart = cartRepository.findWithItemsByCustomerId(customerId)
                 .orElseThrow(() -> new BadRequestException("السلة فارغة - يرجى إضافة منتجات قبل إتمام الطلب"));
@@ -75,22 +120,31 @@ public class OrderServiceImpl implements OrderService {
         Address address = addressRepository.findByIdAndCustomerId(request.addressId(), customerId)
                 .orElseThrow(() -> new BadRequestException("العنوان غير موجود أو لا يخصك"));
 
-        // Validate stock and compute subtotal
+        // Validate availability and compute subtotal from the cart's fetched variants (no per-item queries)
         BigDecimal subtotal = BigDecimal.ZERO;
+        Map<Long, Integer> requested = new TreeMap<>(); // ascending variant id
+        Map<Long, ProductVariant> variantsById = new HashMap<>();
+        Set<String> touchedSlugs = new HashSet<>();
         for (CartItem item : cart.getItems()) {
-            Long variantId = item.getVariant().getId();
-            ProductVariant variant = variantRepository.findByIdAndActiveIsTrueAndDeletedIsFalse(variantId)
-                    .orElseThrow(() -> new BadRequestException("أحد المنتجات في السلة غير متوفر حالياً"));
-
-            String productName = variant.getProduct() != null ? variant.getProduct().getName() : "منتج";
-
-            int updated = variantRepository.decrementStockIfAvailable(variant.getId(), item.getQuantity());
-            if (updated == 0) {
-                throw new BadRequestException("الكمية المطلوبة من '" + productName + "' غير متوفرة في المخزون");
+            ProductVariant variant = item.getVariant();
+            if (!variant.isActive() || variant.isDeleted()) {
+                throw new BadRequestException("أحد المنتجات في السلة غير متوفر حالياً");
             }
+            requested.merge(variant.getId(), item.getQuantity(), Integer::sum);
+            variantsById.put(variant.getId(), variant);
             BigDecimal line = variant.getPrice().multiply(BigDecimal.valueOf(item.getQuantity()));
             subtotal = subtotal.add(line);
+            touchedSlugs.add(variant.getProduct().getSlug());
+        }
+
+        // Reserve stock for every variant in one statement; all-or-nothing
+        int reserved = variantRepository.reserveStock(
+                requested.keySet().toArray(Long[]::new), requested.values().toArray(Integer[]::new));
+        if (reserved != requested.size()) {
+            throw stockShortage(requested, variantsById);
         }
+        // Product pages show per-variant stock
+        productDetailCache.evict(touchedSlugs.toArray(String[]::new));
 
         // Coupon
         BigDecimal discount = BigDecimal.ZERO;
@@ -132,6 +186,9 @@ public class OrderServiceImpl implements OrderService {
         order.setTotal(total);
         order.setStockDeducted(true); // Stock was already decremented above
         order = orderRepository.save(order);
+        if (claimedKey != null) {
+            claimedKey.setOrderId(order.getId());
+        }
 
         List<OrderItem> orderItems = new ArrayList<>();
         for (CartItem item : cart.getItems()) {
@@ -159,17 +216,39 @@ public class OrderServiceImpl implements OrderService {
             couponUsageRepository.save(usage);
         }
 
-        cart.getItems().clear();
-        cartRepository.save(cart);
+        // Only the ordered lines are removed, so items added in another tab survive checkout.
+        // The customer sees the cart right after the response, so this stays in the order transaction.
+        List<Long> orderedCartItemIds = cart.getItems().stream().map(CartItem::getId).toList();
+        cartItemRepository.deleteAllByIdInBatch(orderedCartItemIds);
+
+        metricsAggregate.orderPlaced(order.getStatus(), order.getCreatedAt());
 
         return toDto(order, orderItems, address);
     }
 
+    /**
+     * Explain a failed batch reservation. The transaction is rolled back by the thrown exception,
+     * so the rows that were decremented are restored.
+     */
+    private BadRequestException stockShortage(Map<Long, Integer> requested, Map<Long, ProductVariant> variantsById) {
+        for (VariantStockRow row : variantRepository.findStockRowsByIdIn(requested.keySet())) {
+            if (!row.active() || row.deleted()) {
+                return new BadRequestException("أحد المنتجات في السلة غير متوفر حالياً");
+            }
+            if (row.stockQuantity() < requested.get(row.id())) {
+                ProductVariant variant = variantsById.get(row.id());
+                String productName = variant.getProduct() != null ? variant.getProduct().getName() : "منتج";
+                return new BadRequestException("الكمية المطلوبة من '" + productName + "' غير متوفرة في المخزون");
+            }
+        }
+        // A variant was removed entirely between loading the cart and reserving
+        return new BadRequestException("أحد المنتجات في السلة غير متوفر حالياً");
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<OrderDto> listMyOrders(Long customerId, Pageable pageable) {
-        Page<Order> page = orderRepository.findByCustomerId(customerId, pageable);
-        return page.map(o -> toDto(o, orderItemRepository.findByOrderId(o.getId()), o.getAddress()));
+        return toDtoPage(orderRepository.findSummaryRowsByCustomerId(customerId, pageable));
     }
 
     @Override
@@ -187,25 +266,45 @@ public class OrderServiceImpl implements OrderService {
     @Override
     @Transactional(readOnly = true)
     public Page<OrderDto> listAll(Pageable pageable) {
-        Page<Order> page = orderRepository.findAllBy(pageable);
-        return page.map(o -> toDto(o, orderItemRepository.findByOrderId(o.getId()), o.getAddress()));
+        return toDtoPage(orderRepository.findSummaryRows(pageable));
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<OrderDto> listByDeliveredStatus(boolean delivered, Pageable pageable) {
-        Page<Order> page;
-        if (delivered) {
-            // Delivered tab: only DELIVERED status
-            page = orderRepository.findByStatus(OrderStatus.DELIVERED, pageable);
-        } else {
-            // Active tab: NEW, PROCESSING, and SHIPPED (exclude DELIVERED and FAILED_PICKUP)
-            page = orderRepository.findByStatusIn(
-                java.util.List.of(OrderStatus.NEW, OrderStatus.PROCESSING, OrderStatus.SHIPPED),
-                pageable
-            );
+        List<OrderStatus> statuses = delivered
+                // Delivered tab: only DELIVERED status
+                ? List.of(OrderStatus.DELIVERED)
+                // Active tab: NEW, PROCESSING, and SHIPPED (exclude DELIVERED and FAILED_PICKUP)
+                : List.of(OrderStatus.NEW, OrderStatus.PROCESSING, OrderStatus.SHIPPED);
+        return toDtoPage(orderRepository.findSummaryRowsByStatusIn(statuses, pageable));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public OrderCursorPageDto adminFeed(Collection<OrderStatus> statuses, Long employeeId, Instant from, Instant to,
+                                        String cursor, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_FEED_SIZE));
+        Instant lower = from != null ? from : Instant.EPOCH;
+        Instant upper = to != null ? to : FEED_END_OF_TIME;
+        if (!lower.isBefore(upper)) {
+            throw new BadRequestException("'from' must be before 'to'");
         }
-        return page.map(o -> toDto(o, orderItemRepository.findByOrderId(o.getId()), o.getAddress()));
+        // Without a cursor, seek from the upper bound so the predicate stays index-friendly
+        FeedCursor after = cursor != null && !cursor.isBlank()
+                ? FeedCursor.decode(cursor)
+                : new FeedCursor(upper, Long.MAX_VALUE);
+
+        // Fetch one extra row to learn whether another page exists - no count query
+        List<OrderSummaryRow> rows = orderRepository.findFeedRows(
+                statuses == null || statuses.isEmpty() ? EnumSet.allOf(OrderStatus.class) : statuses,
+                employeeId, lower, upper, after.createdAt(), after.id(), Limit.of(limit + 1));
+
+        boolean hasNext = rows.size() > limit;
+        List<OrderSummaryRow> pageRows = hasNext ? rows.subList(0, limit) : rows;
+        OrderSummaryRow last = hasNext ? pageRows.get(pageRows.size() - 1) : null;
+        String nextCursor = last != null ? new FeedCursor(last.createdAt(), last.id()).encode() : null;
+        return new OrderCursorPageDto(toDtos(pageRows), nextCursor);
     }
 
     @Override
@@ -265,6 +364,7 @@ public class OrderServiceImpl implements OrderService {
         // Stock was already deducted at order placement - no need to deduct again
         order.setStatus(newStatus);
         order = orderRepository.save(order);
+        metricsAggregate.statusChanged(oldStatus, newStatus, order.getTotal(), order.getCreatedAt());
 
         List<OrderItem> items = orderItemRepository.findByOrderId(orderId);
         return toDto(order, items, order.getAddress());
@@ -289,8 +389,7 @@ public class OrderServiceImpl implements OrderService {
     @Override
     @Transactional(readOnly = true)
     public Page<OrderDto> listEmployeeOrders(Long employeeId, Pageable pageable) {
-        Page<Order> page = orderRepository.findByAssignedEmployeeId(employeeId, pageable);
-        return page.map(o -> toDto(o, orderItemRepository.findByOrderId(o.getId()), o.getAddress()));
+        return toDtoPage(orderRepository.findSummaryRowsByAssignedEmployeeId(employeeId, pageable));
     }
 
     @Override
@@ -337,10 +436,30 @@ public class OrderServiceImpl implements OrderService {
         }
 
         order = orderRepository.save(order);
+        metricsAggregate.statusChanged(currentStatus, order.getStatus(), order.getTotal(), order.getCreatedAt());
         List<OrderItem> items = orderItemRepository.findByOrderId(orderId);
         return toDto(order, items, order.getAddress());
     }
 
+    /**
+     * Map a page of order rows with one bulk item query instead of one query per order.
+     */
+    private Page<OrderDto> toDtoPage(Page<OrderSummaryRow> page) {
+        return new PageImpl<>(toDtos(page.getContent()), page.getPageable(), page.getTotalElements());
+    }
+
+    private List<OrderDto> toDtos(List<OrderSummaryRow> rows) {
+        List<Long> orderIds = rows.stream().map(OrderSummaryRow::id).toList();
+        Map<Long, List<OrderItemDto>> itemsByOrder = orderIds.isEmpty()
+                ? Map.of()
+                : orderItemRepository.findByOrderIdIn(orderIds).stream()
+                        .collect(Collectors.groupingBy(OrderItemRow::orderId,
+                                Collectors.mapping(OrderItemRow::toDto, Collectors.toList())));
+        return rows.stream()
+                .map(row -> row.toDto(itemsByOrder.getOrDefault(row.id(), List.of())))
+                .toList();
+    }
+
     private OrderDto toDto(Order order, List<OrderItem> items, Address address) {
         AddressDto addrDto = new AddressDto(address.getId(), address.getCity(), address.getStreet(), address.getDetails(), address.getPhone());
 
@@ -379,5 +498,28 @@ public class OrderServiceImpl implements OrderService {
             order.getCreatedAt()
         );
     }
-}
 
+    /**
+     * Opaque feed cursor: base64url of "{createdAt}|{id}" of the last order on the page.
+     */
+    private record FeedCursor(Instant createdAt, Long id) {
+
+        String encode() {
+            String raw = createdAt + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static FeedCursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                String[] parts = raw.split("\\|");
+                if (parts.length != 2) {
+                    throw new BadRequestException("Invalid cursor");
+                }
+                return new FeedCursor(Instant.parse(parts[0]), Long.parseLong(parts[1]));
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                throw new BadRequestException("Invalid cursor");
+            }
+        }
+    }
+}
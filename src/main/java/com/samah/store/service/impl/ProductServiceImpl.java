@@ -6,6 +6,12 @@ import com.samah.store.exception.BadRequestException;
 import com.samah.store.exception.NotFoundException;
 import com.samah.store.repository.*;
 import com.samah.store.service.ProductService;
+import com.samah.store.service.cache.ProductDetailCache;
+import com.samah.store.service.image.ImageRenditionService;
+import com.samah.store.service.search.ProductSearchIndex;
+import com.samah.store.service.search.ProductSearchIndex.IndexedProduct;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -16,6 +22,11 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.data.domain.PageRequest;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -28,73 +39,284 @@ public class ProductServiceImpl implements ProductService {
     private final CategoryRepository categoryRepository;
     private final ProductVariantRepository variantRepository;
     private final ProductImageRepository imageRepository;
+    private final ProductSearchIndex searchIndex;
+    private final ProductDetailCache productDetailCache;
+    private final ImageRenditionService renditionService;
+
+    private static final int MAX_SCROLL_SIZE = 100;
+    private static final int BACKFILL_CHUNK = 1000;
 
     public ProductServiceImpl(ProductRepository productRepository,
                               CategoryRepository categoryRepository,
                               ProductVariantRepository variantRepository,
-                              ProductImageRepository imageRepository) {
+                              ProductImageRepository imageRepository,
+                              ProductSearchIndex searchIndex,
+                              ProductDetailCache productDetailCache,
+                              ImageRenditionService renditionService) {
         this.productRepository = productRepository;
         this.categoryRepository = categoryRepository;
         this.variantRepository = variantRepository;
         this.imageRepository = imageRepository;
+        this.searchIndex = searchIndex;
+        this.productDetailCache = productDetailCache;
+        this.renditionService = renditionService;
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<ProductSummaryDto> search(String q, Long categoryId, Double minPrice, Double maxPrice, Pageable pageable) {
+        Sort sortToUse = pageable.getSort().isUnsorted()
+                ? Sort.by(Sort.Direction.DESC, "createdAt")
+                : toEntitySort(pageable.getSort());
+
         // Always filter for active and non-deleted products in public search
-        Specification<Product> spec = Specification.where((root, query, cb) ->
-            cb.and(cb.isTrue(root.get("active")), cb.isFalse(root.get("deleted")))
-        );
+        Specification<Product> spec = withCategoryAndPrice(publicProducts(), categoryId, minPrice, maxPrice);
 
         if (q != null && !q.isBlank()) {
-            spec = spec.and((root, query, cb) -> cb.like(cb.lower(root.get("name")), "%" + q.toLowerCase() + "%"));
+            if (searchIndex.isReady()) {
+                List<IndexedProduct> matches = searchIndex.search(q);
+                if (matches.isEmpty()) {
+                    return Page.empty(pageable);
+                }
+                return searchFromIndex(matches, categoryId, toPrice(minPrice), toPrice(maxPrice),
+                        indexComparator(sortToUse), pageable);
+            } else {
+                // Index still building at startup - fall back to SQL scan
+                spec = spec.and((root, query, cb) -> cb.like(cb.lower(root.get("name")), "%" + q.toLowerCase() + "%"));
+            }
         }
-        if (categoryId != null) {
-            spec = spec.and((root, query, cb) -> cb.equal(root.get("category").get("id"), categoryId));
+
+        PageRequest pageRequest = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sortToUse);
+        Page<Product> idPage = productRepository.findAll(spec, pageRequest);
+        if (idPage.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, idPage.getTotalElements());
         }
+        return new PageImpl<>(toSummaries(idPage.getContent()), pageable, idPage.getTotalElements());
+    }
 
-        List<Long> priceFilteredProductIds = variantRepository.findDistinctProductIdsByPriceRange(
-                minPrice == null ? null : BigDecimal.valueOf(minPrice),
-                maxPrice == null ? null : BigDecimal.valueOf(maxPrice)
-        );
-        if (minPrice != null || maxPrice != null) {
-            if (priceFilteredProductIds.isEmpty()) {
-                return Page.empty(pageable);
+    @Override
+    @Transactional(readOnly = true)
+    public ProductCursorPageDto scroll(String q, Long categoryId, Double minPrice, Double maxPrice,
+                                      String order, String cursor, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_SCROLL_SIZE));
+        ScrollOrder scrollOrder = ScrollOrder.from(order);
+
+        ScrollCursor after = cursor == null || cursor.isBlank() ? null : ScrollCursor.decode(cursor, scrollOrder);
+
+        Specification<Product> spec = withCategoryAndPrice(publicProducts(), categoryId, minPrice, maxPrice);
+        if (q != null && !q.isBlank()) {
+            if (searchIndex.isReady()) {
+                return scrollFromIndex(searchIndex.search(q), categoryId, toPrice(minPrice), toPrice(maxPrice),
+                        scrollOrder, after, limit);
+            } else {
+                spec = spec.and((root, query, cb) -> cb.like(cb.lower(root.get("name")), "%" + q.toLowerCase() + "%"));
             }
-            spec = spec.and((root, query, cb) -> root.get("id").in(priceFilteredProductIds));
+        }
+        if (scrollOrder != ScrollOrder.NEWEST) {
+            // Products without active variants have no price to seek on
+            spec = spec.and((root, query, cb) -> cb.isNotNull(root.get("minPrice")));
+        }
+        if (after != null) {
+            spec = spec.and(seekAfter(scrollOrder, after));
         }
 
-        Sort sortToUse = pageable.getSort().isUnsorted()
-                ? Sort.by(Sort.Direction.DESC, "createdAt")
-                : pageable.getSort();
-        PageRequest pageRequest = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sortToUse);
-        Page<Product> idPage = productRepository.findAll(spec, pageRequest);
-        List<Long> pageIds = idPage.stream().map(Product::getId).toList();
+        // Fetch one extra row to learn whether another page exists - no count query
+        List<Product> rows = productRepository.findBy(spec, query -> query
+                .sortBy(scrollOrder.sort)
+                .limit(limit + 1)
+                .project("category")
+                .all());
+        boolean hasNext = rows.size() > limit;
+        List<Product> pageRows = hasNext ? rows.subList(0, limit) : rows;
+        if (pageRows.isEmpty()) {
+            return new ProductCursorPageDto(List.of(), null);
+        }
+
+        String nextCursor = hasNext ? ScrollCursor.of(scrollOrder, pageRows.get(pageRows.size() - 1)).encode() : null;
+        return new ProductCursorPageDto(toSummaries(pageRows), nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ProductFacetsDto facets(String q, Long categoryId, Double minPrice, Double maxPrice) {
+        if (!searchIndex.isReady()) {
+            // Index still building at startup - report no facets rather than scanning
+            return new ProductFacetsDto(0, List.of(), List.of(), List.of(), List.of());
+        }
+        return searchIndex.facets(q, categoryId,
+                minPrice == null ? null : BigDecimal.valueOf(minPrice),
+                maxPrice == null ? null : BigDecimal.valueOf(maxPrice));
+    }
+
+    /**
+     * Keyset predicate: rows strictly after the cursor in the (key, id) order.
+     */
+    private static Specification<Product> seekAfter(ScrollOrder order, ScrollCursor cursor) {
+        return (root, query, cb) -> switch (order) {
+            case NEWEST -> cb.or(
+                    cb.lessThan(root.get("createdAt"), cursor.createdAt()),
+                    cb.and(cb.equal(root.get("createdAt"), cursor.createdAt()), cb.lessThan(root.get("id"), cursor.id())));
+            case PRICE_ASC -> cb.or(
+                    cb.greaterThan(root.get("minPrice"), cursor.price()),
+                    cb.and(cb.equal(root.get("minPrice"), cursor.price()), cb.greaterThan(root.get("id"), cursor.id())));
+            case PRICE_DESC -> cb.or(
+                    cb.lessThan(root.get("minPrice"), cursor.price()),
+                    cb.and(cb.equal(root.get("minPrice"), cursor.price()), cb.lessThan(root.get("id"), cursor.id())));
+        };
+    }
+
+    private static Specification<Product> publicProducts() {
+        return Specification.where((root, query, cb) ->
+                cb.and(cb.isTrue(root.get("active")), cb.isFalse(root.get("deleted"))));
+    }
+
+    private static Specification<Product> withCategoryAndPrice(Specification<Product> spec, Long categoryId,
+                                                               Double minPrice, Double maxPrice) {
+        if (categoryId != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("category").get("id"), categoryId));
+        }
+        // The product's [min_price, max_price] must overlap the requested range (no variant join)
+        if (minPrice != null) {
+            spec = spec.and((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("maxPrice"), BigDecimal.valueOf(minPrice)));
+        }
+        if (maxPrice != null) {
+            spec = spec.and((root, query, cb) -> cb.lessThanOrEqualTo(root.get("minPrice"), BigDecimal.valueOf(maxPrice)));
+        }
+        return spec;
+    }
+
+    /**
+     * Filter, sort and slice the index matches in memory; only the requested page is loaded from the database.
+     */
+    private Page<ProductSummaryDto> searchFromIndex(List<IndexedProduct> matches, Long categoryId,
+                                                    BigDecimal minPrice, BigDecimal maxPrice,
+                                                    Comparator<IndexedProduct> comparator, Pageable pageable) {
+        List<IndexedProduct> filtered = matches.stream()
+                .filter(d -> categoryId == null || categoryId.equals(d.categoryId()))
+                .filter(d -> d.priceOverlaps(minPrice, maxPrice))
+                .sorted(comparator)
+                .toList();
+        int from = (int) Math.min(pageable.getOffset(), filtered.size());
+        int to = Math.min(from + pageable.getPageSize(), filtered.size());
+        List<Long> pageIds = filtered.subList(from, to).stream().map(IndexedProduct::id).toList();
         if (pageIds.isEmpty()) {
-            return new PageImpl<>(List.of(), pageable, idPage.getTotalElements());
+            return new PageImpl<>(List.of(), pageable, filtered.size());
+        }
+        return new PageImpl<>(toSummaries(loadPublicInOrder(pageIds)), pageable, filtered.size());
+    }
+
+    /**
+     * Keyset scroll over the index matches in memory: filter, order and seek past the cursor here,
+     * then load only the page (plus one row to learn whether another page exists).
+     */
+    private ProductCursorPageDto scrollFromIndex(List<IndexedProduct> matches, Long categoryId,
+                                                 BigDecimal minPrice, BigDecimal maxPrice,
+                                                 ScrollOrder scrollOrder, ScrollCursor after, int limit) {
+        List<IndexedProduct> window = matches.stream()
+                .filter(d -> categoryId == null || categoryId.equals(d.categoryId()))
+                .filter(d -> d.priceOverlaps(minPrice, maxPrice))
+                // Products without active variants have no price to seek on
+                .filter(d -> scrollOrder == ScrollOrder.NEWEST || d.minPrice() != null)
+                .filter(d -> after == null || after.precedes(d))
+                .sorted(scrollOrder.indexOrder)
+                .limit(limit + 1L)
+                .toList();
+        boolean hasNext = window.size() > limit;
+        List<IndexedProduct> page = hasNext ? window.subList(0, limit) : window;
+        if (page.isEmpty()) {
+            return new ProductCursorPageDto(List.of(), null);
+        }
+
+        String nextCursor = hasNext ? ScrollCursor.of(scrollOrder, page.get(page.size() - 1)).encode() : null;
+        List<Product> products = loadPublicInOrder(page.stream().map(IndexedProduct::id).toList());
+        return new ProductCursorPageDto(toSummaries(products), nextCursor);
+    }
+
+    /**
+     * Load one page of products by id, keeping the given order and dropping any that went private meanwhile.
+     */
+    private List<Product> loadPublicInOrder(List<Long> pageIds) {
+        Map<Long, Product> byId = productRepository.findAllByIdIn(pageIds).stream()
+                .collect(Collectors.toMap(Product::getId, p -> p));
+        return pageIds.stream()
+                .map(byId::get)
+                .filter(p -> p != null && p.isActive() && !p.isDeleted())
+                .toList();
+    }
+
+    private static BigDecimal toPrice(Double value) {
+        return value == null ? null : BigDecimal.valueOf(value);
+    }
+
+    /**
+     * Comparator equivalent to the requested entity sort. Nulls sort as Postgres does: last ascending, first descending.
+     */
+    private static Comparator<IndexedProduct> indexComparator(Sort sort) {
+        Comparator<IndexedProduct> comparator = null;
+        for (Sort.Order order : sort) {
+            Comparator<IndexedProduct> next = switch (order.getProperty()) {
+                case "createdAt" -> Comparator.comparing(IndexedProduct::createdAt, Comparator.nullsLast(Comparator.naturalOrder()));
+                case "name" -> Comparator.comparing(IndexedProduct::name, String.CASE_INSENSITIVE_ORDER);
+                case "id" -> Comparator.comparing(IndexedProduct::id);
+                case "minPrice" -> Comparator.comparing(IndexedProduct::minPrice, Comparator.nullsLast(Comparator.naturalOrder()));
+                case "maxPrice" -> Comparator.comparing(IndexedProduct::maxPrice, Comparator.nullsLast(Comparator.naturalOrder()));
+                default -> throw new BadRequestException("Unsupported sort: " + order.getProperty());
+            };
+            if (order.isDescending()) {
+                next = next.reversed();
+            }
+            comparator = comparator == null ? next : comparator.thenComparing(next);
         }
+        return comparator == null ? null : comparator.thenComparing(IndexedProduct::id);
+    }
 
-        Map<Long, BigDecimal> minPrices = variantRepository.findByProductIdIn(pageIds).stream()
-                .collect(Collectors.groupingBy(v -> v.getProduct().getId(),
-                        Collectors.mapping(ProductVariant::getPrice, Collectors.collectingAndThen(Collectors.minBy(BigDecimal::compareTo), opt -> opt.orElse(null)))));
+    /**
+     * Map public sort aliases onto entity properties; price sorts use the denormalized min_price column.
+     */
+    private static Sort toEntitySort(Sort sort) {
+        return Sort.by(sort.stream()
+                .map(order -> switch (order.getProperty()) {
+                    case "price", "minVariantPrice" -> order.withProperty("minPrice");
+                    default -> order;
+                })
+                .toList());
+    }
+
+    private List<ProductSummaryDto> toSummaries(List<Product> products) {
+        List<Long> pageIds = products.stream().map(Product::getId).toList();
 
         Map<Long, String> primaryImages = imageRepository.findByProductIdIn(pageIds).stream()
                 .collect(Collectors.groupingBy(pi -> pi.getProduct().getId(),
-                        Collectors.collectingAndThen(Collectors.minBy(java.util.Comparator.comparing(ProductImage::getSortOrder)), opt -> opt.map(ProductImage::getUrl).orElse(null))));
+                        Collectors.collectingAndThen(Collectors.minBy(Comparator.comparing(ProductImage::getSortOrder)), opt -> opt.map(ProductImage::getUrl).orElse(null))));
 
-        List<ProductSummaryDto> summaries = idPage.stream().map(p -> new ProductSummaryDto(
-                p.getId(),
-                p.getName(),
-                p.getSlug(),
-                p.isActive(),
-                p.isDeleted(),
-                new CategoryDto(p.getCategory().getId(), p.getCategory().getName(), p.getCategory().getSlug(), p.getCategory().isActive(), p.getCategory().getUpdatedAt()),
-                primaryImages.get(p.getId()),
-                minPrices.get(p.getId())
-        )).toList();
+        return products.stream().map(p -> {
+            String primaryImage = primaryImages.get(p.getId());
+            ImageRenditionService.RenditionUrls renditions = renditionService.urlsFor(primaryImage);
+            return new ProductSummaryDto(
+                    p.getId(),
+                    p.getName(),
+                    p.getSlug(),
+                    p.isActive(),
+                    p.isDeleted(),
+                    new CategoryDto(p.getCategory().getId(), p.getCategory().getName(), p.getCategory().getSlug(), p.getCategory().isActive(), p.getCategory().getUpdatedAt()),
+                    primaryImage,
+                    renditions == null ? null : renditions.thumbnail(),
+                    p.getMinPrice()
+            );
+        }).toList();
+    }
 
-        return new PageImpl<>(summaries, pageable, idPage.getTotalElements());
+    /**
+     * Fill min_price/max_price for products that predate those columns, {@link #BACKFILL_CHUNK} ids per UPDATE.
+     * Only products with an active variant are selected, so once they are all summarized this runs no UPDATE.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillPriceSummaries() {
+        List<Long> ids = productRepository.findIdsMissingPriceSummary();
+        for (int from = 0; from < ids.size(); from += BACKFILL_CHUNK) {
+            productRepository.refreshPriceSummary(ids.subList(from, Math.min(from + BACKFILL_CHUNK, ids.size())));
+        }
     }
 
     @Override
@@ -127,6 +349,8 @@ public class ProductServiceImpl implements ProductService {
 
         saveImages(saved, dto.images());
         saveVariants(saved, dto.variants());
+        productRepository.refreshPriceSummary(List.of(saved.getId()));
+        searchIndex.refresh(saved.getId());
 
         return getBySlug(saved.getSlug());
     }
@@ -138,6 +362,7 @@ public class ProductServiceImpl implements ProductService {
                 .orElseThrow(() -> new NotFoundException("Product not found"));
         Category category = categoryRepository.findById(dto.category().id())
                 .orElseThrow(() -> new NotFoundException("Category not found"));
+        String previousSlug = product.getSlug();
         product.setName(dto.name());
         product.setSlug(dto.slug());
         product.setDescription(dto.description());
@@ -150,6 +375,9 @@ public class ProductServiceImpl implements ProductService {
         imageRepository.deleteAll(imageRepository.findByProductIdOrderBySortOrderAsc(product.getId()));
         saveVariants(saved, dto.variants());
         saveImages(saved, dto.images());
+        productRepository.refreshPriceSummary(List.of(saved.getId()));
+        searchIndex.refresh(saved.getId());
+        productDetailCache.evict(previousSlug, saved.getSlug());
 
         return getBySlug(saved.getSlug());
     }
@@ -162,6 +390,8 @@ public class ProductServiceImpl implements ProductService {
         product.setDeleted(true);
         product.setActive(false);
         productRepository.save(product);
+        searchIndex.remove(id);
+        productDetailCache.evict(product.getSlug());
     }
 
     private void saveVariants(Product product, List<ProductVariantDto> variants) {
@@ -197,9 +427,96 @@ public class ProductServiceImpl implements ProductService {
                 .map(v -> new ProductVariantDto(v.getId(), v.getSku(), v.getSize(), v.getColor(), v.getPrice(), v.getStockQuantity(), v.isActive(), v.isDeleted()))
                 .toList();
         List<ProductImageDto> imageDtos = images == null ? null : images.stream()
-                .map(i -> new ProductImageDto(i.getId(), i.getUrl(), i.getSortOrder()))
+                .map(this::toImageDto)
                 .toList();
         return new ProductDto(product.getId(), product.getName(), product.getSlug(), product.getDescription(),
                 product.isActive(), product.isDeleted(), categoryDto, imageDtos, variantDtos, product.getUpdatedAt());
     }
+
+    private ProductImageDto toImageDto(ProductImage image) {
+        ImageRenditionService.RenditionUrls renditions = renditionService.urlsFor(image.getUrl());
+        return new ProductImageDto(image.getId(), image.getUrl(), image.getSortOrder(),
+                renditions.thumbnail(), renditions.detail(), renditions.zoom());
+    }
+
+    private enum ScrollOrder {
+        NEWEST(Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by(Sort.Direction.DESC, "id")),
+                Comparator.comparing(IndexedProduct::createdAt).thenComparing(IndexedProduct::id).reversed()),
+        PRICE_ASC(Sort.by(Sort.Direction.ASC, "minPrice").and(Sort.by(Sort.Direction.ASC, "id")),
+                Comparator.comparing(IndexedProduct::minPrice).thenComparing(IndexedProduct::id)),
+        PRICE_DESC(Sort.by(Sort.Direction.DESC, "minPrice").and(Sort.by(Sort.Direction.DESC, "id")),
+                Comparator.comparing(IndexedProduct::minPrice).thenComparing(IndexedProduct::id).reversed());
+
+        private final Sort sort;
+        // Same (key, id) order over index documents
+        private final Comparator<IndexedProduct> indexOrder;
+
+        ScrollOrder(Sort sort, Comparator<IndexedProduct> indexOrder) {
+            this.sort = sort;
+            this.indexOrder = indexOrder;
+        }
+
+        static ScrollOrder from(String value) {
+            if (value == null || value.isBlank() || value.equalsIgnoreCase("newest")) return NEWEST;
+            if (value.equalsIgnoreCase("price_asc")) return PRICE_ASC;
+            if (value.equalsIgnoreCase("price_desc")) return PRICE_DESC;
+            throw new BadRequestException("Invalid order: " + value);
+        }
+    }
+
+    /**
+     * Opaque cursor: base64url of "{order}|{key}|{id}" where key is the createdAt instant or the min price.
+     */
+    private record ScrollCursor(ScrollOrder order, Instant createdAt, BigDecimal price, Long id) {
+
+        static ScrollCursor of(ScrollOrder order, Product last) {
+            return new ScrollCursor(order, last.getCreatedAt(), last.getMinPrice(), last.getId());
+        }
+
+        static ScrollCursor of(ScrollOrder order, IndexedProduct last) {
+            return new ScrollCursor(order, last.createdAt(), last.minPrice(), last.id());
+        }
+
+        /**
+         * In-memory twin of {@link #seekAfter}: true when {@code d} comes strictly after this cursor.
+         */
+        boolean precedes(IndexedProduct d) {
+            return switch (order) {
+                case NEWEST -> {
+                    int c = d.createdAt().compareTo(createdAt);
+                    yield c < 0 || (c == 0 && d.id() < id);
+                }
+                case PRICE_ASC -> {
+                    int c = d.minPrice().compareTo(price);
+                    yield c > 0 || (c == 0 && d.id() > id);
+                }
+                case PRICE_DESC -> {
+                    int c = d.minPrice().compareTo(price);
+                    yield c < 0 || (c == 0 && d.id() < id);
+                }
+            };
+        }
+
+        String encode() {
+            String key = order == ScrollOrder.NEWEST ? createdAt.toString() : price.toPlainString();
+            String raw = order.name() + "|" + key + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static ScrollCursor decode(String cursor, ScrollOrder expected) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                String[] parts = raw.split("\\|");
+                if (parts.length != 3 || !parts[0].equals(expected.name())) {
+                    throw new BadRequestException("Invalid cursor");
+                }
+                Long id = Long.parseLong(parts[2]);
+                return expected == ScrollOrder.NEWEST
+                        ? new ScrollCursor(expected, Instant.parse(parts[1]), null, id)
+                        : new ScrollCursor(expected, null, new BigDecimal(parts[1]), id);
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                throw new BadRequestException("Invalid cursor");
+            }
+        }
+    }
 }
@@ -0,0 +1,196 @@
+package com.samah.store.service.metrics;
+
+import com.samah.store.domain.entites.AdminMetricConfig;
+import com.samah.store.domain.enums.OrderStatus;
+import com.samah.store.dto.AdminMetricsDto;
+import com.samah.store.repository.AdminMetricConfigRepository;
+import com.samah.store.repository.OrderRepository;
+import com.samah.store.repository.projection.StatusCountRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * In-memory admin dashboard counters (GET /api/admin/metrics), so the dashboard no longer scans orders.
+ *
+ * Behavior:
+ * - Seeded from the database on ApplicationReadyEvent
+ * - OrderServiceImpl reports placements and status changes; they are applied after commit,
+ *   so rolled-back checkouts never count
+ * - {@link #reconcile()} periodically recomputes everything from the database and replaces the
+ *   snapshot, correcting drift from writes by other instances or races with the seed
+ * - Reads return an immutable snapshot; until the first seed, {@link #snapshot()} is null
+ *   and callers fall back to SQL
+ *
+ * "Today" is the UTC day, as before.
+ */
+@Component
+public class OrderMetricsAggregate {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderMetricsAggregate.class);
+
+    private final OrderRepository orderRepository;
+    private final AdminMetricConfigRepository metricConfigRepository;
+
+    // Replaced under "this"; read without locking
+    private volatile Snapshot snapshot;
+
+    public OrderMetricsAggregate(OrderRepository orderRepository, AdminMetricConfigRepository metricConfigRepository) {
+        this.orderRepository = orderRepository;
+        this.metricConfigRepository = metricConfigRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.admin-metrics.reconcile-interval-ms:600000}",
+               initialDelayString = "${app.admin-metrics.reconcile-interval-ms:600000}")
+    public void reconcile() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            log.warn("Admin metrics reconcile failed, keeping previous counters: {}", e.getMessage());
+        }
+    }
+
+    private void reload() {
+        long start = System.currentTimeMillis();
+        Instant todayStart = todayStart();
+        Instant resetAt = metricConfigRepository.findById(1L).map(AdminMetricConfig::getRevenueResetAt).orElse(null);
+
+        EnumMap<OrderStatus, Long> byStatus = new EnumMap<>(OrderStatus.class);
+        long total = 0;
+        for (StatusCountRow row : orderRepository.countGroupedByStatus()) {
+            byStatus.put(row.status(), row.count());
+            total += row.count();
+        }
+        Snapshot fresh = new Snapshot(total, todayStart, orderRepository.countByCreatedAtAfter(todayStart), byStatus,
+                resetAt == null ? orderRepository.sumTotalRevenue() : orderRepository.sumRevenueSince(resetAt),
+                resetAt);
+
+        synchronized (this) {
+            Snapshot previous = snapshot;
+            snapshot = fresh;
+            if (previous != null && !previous.equalsIgnoringDay(fresh)) {
+                log.info("Admin metrics reconciled with drift: was total={} revenue={}, now total={} revenue={}",
+                        previous.totalOrders(), previous.revenue(), fresh.totalOrders(), fresh.revenue());
+            }
+        }
+        log.debug("Admin metrics reconciled in {}ms", System.currentTimeMillis() - start);
+    }
+
+    public Snapshot snapshot() {
+        Snapshot current = snapshot;
+        Instant todayStart = todayStart();
+        if (current != null && current.day().isBefore(todayStart)) {
+            synchronized (this) {
+                if (snapshot.day().isBefore(todayStart)) {
+                    snapshot = snapshot.rollDay(todayStart);
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    public void orderPlaced(OrderStatus status, Instant createdAt) {
+        afterCommit(() -> update(s -> s.withPlaced(status, createdAt)));
+    }
+
+    public void statusChanged(OrderStatus from, OrderStatus to, BigDecimal total, Instant createdAt) {
+        if (from == to) return;
+        afterCommit(() -> update(s -> s.withStatusChange(from, to, total, createdAt)));
+    }
+
+    public void revenueReset(Instant resetAt) {
+        afterCommit(() -> update(s -> s.withRevenueReset(resetAt)));
+    }
+
+    private synchronized void update(UnaryOperator<Snapshot> change) {
+        if (snapshot == null) return; // the seed will include this write
+        Instant todayStart = todayStart();
+        Snapshot current = snapshot.day().isBefore(todayStart) ? snapshot.rollDay(todayStart) : snapshot;
+        snapshot = change.apply(current);
+    }
+
+    private static Instant todayStart() {
+        return Instant.now().truncatedTo(ChronoUnit.DAYS);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Revenue is the sum of DELIVERED order totals for orders created since {@code revenueResetAt}.
+     */
+    public record Snapshot(long totalOrders, Instant day, long ordersToday, Map<OrderStatus, Long> byStatus,
+                           BigDecimal revenue, Instant revenueResetAt) {
+
+        public long count(OrderStatus status) {
+            return byStatus.getOrDefault(status, 0L);
+        }
+
+        public AdminMetricsDto toDto() {
+            return new AdminMetricsDto(totalOrders, ordersToday,
+                    count(OrderStatus.PROCESSING), count(OrderStatus.SHIPPED),
+                    count(OrderStatus.DELIVERED), count(OrderStatus.CANCELLED),
+                    revenue, revenueResetAt);
+        }
+
+        Snapshot rollDay(Instant todayStart) {
+            return new Snapshot(totalOrders, todayStart, 0, byStatus, revenue, revenueResetAt);
+        }
+
+        Snapshot withPlaced(OrderStatus status, Instant createdAt) {
+            EnumMap<OrderStatus, Long> counts = new EnumMap<>(OrderStatus.class);
+            counts.putAll(byStatus);
+            counts.merge(status, 1L, Long::sum);
+            boolean today = createdAt == null || !createdAt.isBefore(day);
+            return new Snapshot(totalOrders + 1, day, ordersToday + (today ? 1 : 0), counts, revenue, revenueResetAt);
+        }
+
+        Snapshot withStatusChange(OrderStatus from, OrderStatus to, BigDecimal total, Instant createdAt) {
+            EnumMap<OrderStatus, Long> counts = new EnumMap<>(OrderStatus.class);
+            counts.putAll(byStatus);
+            counts.merge(from, -1L, Long::sum);
+            counts.merge(to, 1L, Long::sum);
+            BigDecimal newRevenue = revenue;
+            boolean inRevenueWindow = revenueResetAt == null || createdAt == null || !createdAt.isBefore(revenueResetAt);
+            if (inRevenueWindow && total != null) {
+                if (to == OrderStatus.DELIVERED) newRevenue = newRevenue.add(total);
+                if (from == OrderStatus.DELIVERED) newRevenue = newRevenue.subtract(total);
+            }
+            return new Snapshot(totalOrders, day, ordersToday, counts, newRevenue, revenueResetAt);
+        }
+
+        Snapshot withRevenueReset(Instant resetAt) {
+            return new Snapshot(totalOrders, day, ordersToday, byStatus, BigDecimal.ZERO, resetAt);
+        }
+
+        boolean equalsIgnoringDay(Snapshot other) {
+            return totalOrders == other.totalOrders
+                    && byStatus.equals(other.byStatus)
+                    && revenue.compareTo(other.revenue) == 0;
+        }
+    }
+}
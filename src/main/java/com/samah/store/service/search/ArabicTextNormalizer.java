@@ -0,0 +1,72 @@
+package com.samah.store.service.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Normalizes product names and search queries to a common form before tokenizing.
+ *
+ * Arabic rules:
+ * - Diacritics (tashkeel), superscript alef and tatweel are removed
+ * - أ إ آ ٱ are folded to ا
+ * - ؤ is folded to و, ئ and ى are folded to ي
+ * - ة (taa marbuta) is folded to ه
+ *
+ * Latin text is lower-cased and accents are stripped (é -> e).
+ */
+public final class ArabicTextNormalizer {
+
+    private ArabicTextNormalizer() {
+    }
+
+    public static String normalize(String input) {
+        if (input == null || input.isEmpty()) {
+            return "";
+        }
+        // NFKD splits hamza/madda carriers (أ إ آ ؤ ئ) into base letter + combining mark,
+        // and maps Arabic presentation forms back to their base letters
+        String decomposed = Normalizer.normalize(input, Normalizer.Form.NFKD);
+        StringBuilder sb = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            // Tashkeel, hamza/madda marks, superscript alef, tatweel
+            if ((c >= '\u064B' && c <= '\u065F') || c == '\u0670' || c == '\u0640') {
+                continue;
+            }
+            // Latin combining accents
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            switch (c) {
+                case '\u0671' -> sb.append('\u0627'); // ٱ -> ا
+                case '\u0649' -> sb.append('\u064A'); // ى -> ي
+                case '\u0629' -> sb.append('\u0647'); // ة -> ه
+                default -> sb.append(c);
+            }
+        }
+        return sb.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Normalize and split on anything that is not a letter or digit.
+     */
+    public static List<String> tokenize(String input) {
+        String normalized = normalize(input);
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i < normalized.length(); i++) {
+            if (Character.isLetterOrDigit(normalized.charAt(i))) {
+                if (start < 0) start = i;
+            } else if (start >= 0) {
+                tokens.add(normalized.substring(start, i));
+                start = -1;
+            }
+        }
+        if (start >= 0) {
+            tokens.add(normalized.substring(start));
+        }
+        return tokens;
+    }
+}
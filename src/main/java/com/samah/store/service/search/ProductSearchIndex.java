@@ -0,0 +1,368 @@
+package com.samah.store.service.search;
+
+import com.samah.store.dto.ProductFacetsDto;
+import com.samah.store.dto.ProductFacetsDto.FacetCount;
+import com.samah.store.repository.ProductRepository;
+import com.samah.store.repository.ProductVariantRepository;
+import com.samah.store.repository.projection.ProductIndexRow;
+import com.samah.store.repository.projection.VariantFacetRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory inverted index and facet bitmaps over public (active, non-deleted) products.
+ *
+ * Replaces the unindexable {@code lower(name) like '%q%'} scan for storefront search and
+ * answers facet counts without one query per facet.
+ *
+ * Behavior:
+ * - Built once on ApplicationReadyEvent from the products and product_variants tables; products
+ *   refreshed or removed while the build reads its snapshot are re-read after the swap
+ * - Kept up to date by the catalog write paths via {@link #refresh(Long)} / {@link #remove(Long)}.
+ *   Fresh rows are read inside the caller's transaction and applied after it commits,
+ *   so rollbacks never leak into the index
+ * - Query tokens are prefix-matched against indexed tokens and AND-ed together
+ * - Facets are BitSets keyed by product id; a facet count is one AND + cardinality
+ * - Until the initial build finishes, {@link #isReady()} is false and callers fall back to SQL
+ */
+@Component
+public class ProductSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductSearchIndex.class);
+
+    // Lower bounds of the storefront price buckets (JOD); the last bucket is open-ended
+    private static final List<BigDecimal> PRICE_BUCKETS = List.of(
+            BigDecimal.ZERO, BigDecimal.valueOf(10), BigDecimal.valueOf(25), BigDecimal.valueOf(50), BigDecimal.valueOf(100));
+
+    private final ProductRepository productRepository;
+    private final ProductVariantRepository variantRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock
+    private final Map<Long, IndexedProduct> documents = new HashMap<>();
+    private final TreeMap<String, Set<Long>> postings = new TreeMap<>(); // sorted for prefix range scans
+    private final BitSet allProducts = new BitSet();
+    private final Map<Long, BitSet> byCategory = new HashMap<>();
+    private final Map<String, BitSet> bySize = new TreeMap<>();
+    private final Map<String, BitSet> byColor = new TreeMap<>();
+
+    // Non-null while rebuild() runs: ids changed by refresh()/remove() since its snapshot was read
+    private Set<Long> touchedDuringRebuild;
+
+    private volatile boolean ready = false;
+
+    public ProductSearchIndex(ProductRepository productRepository, ProductVariantRepository variantRepository) {
+        this.productRepository = productRepository;
+        this.variantRepository = variantRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        // The snapshot is read without the lock, so writes committing meanwhile are recorded and replayed
+        write(() -> touchedDuringRebuild = new HashSet<>());
+        List<IndexedProduct> docs = toDocuments(productRepository.findIndexRows(), variantRepository.findFacetRows());
+        Set<Long> touched = writeAndGet(() -> {
+            documents.clear();
+            postings.clear();
+            allProducts.clear();
+            byCategory.clear();
+            bySize.clear();
+            byColor.clear();
+            docs.forEach(this::put);
+            return takeTouched();
+        });
+        // Re-read them after the swap; repeat until no write slipped in during the re-read
+        while (!touched.isEmpty()) {
+            List<Long> ids = List.copyOf(touched);
+            List<IndexedProduct> fresh = toDocuments(
+                    productRepository.findIndexRowsByIdIn(ids), variantRepository.findFacetRowsByProductIdIn(ids));
+            touched = writeAndGet(() -> {
+                ids.forEach(this::drop);
+                fresh.forEach(this::put);
+                return takeTouched();
+            });
+        }
+        ready = true;
+        log.info("Product search index built: {} products, {} tokens in {}ms",
+                docs.size(), postings.size(), System.currentTimeMillis() - start);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Re-read a product and its variants and re-index them once the current transaction commits.
+     * Products that are now inactive or deleted drop out of the index.
+     */
+    public void refresh(Long productId) {
+        if (productId == null) return;
+        // Constructor-expression queries auto-flush and bypass the persistence context,
+        // so they see this transaction's pending writes and bulk updates
+        List<IndexedProduct> docs = toDocuments(
+                productRepository.findIndexRowsByIdIn(List.of(productId)),
+                variantRepository.findFacetRowsByProductIdIn(List.of(productId)));
+        afterCommit(() -> write(() -> {
+            drop(productId);
+            docs.forEach(this::put);
+            track(productId);
+        }));
+    }
+
+    public void remove(Long productId) {
+        if (productId == null) return;
+        afterCommit(() -> write(() -> {
+            drop(productId);
+            track(productId);
+        }));
+    }
+
+    /**
+     * Products whose name contains a token starting with every token of {@code query}.
+     * Returns an empty list for a query with no searchable tokens.
+     */
+    public List<IndexedProduct> search(String query) {
+        lock.readLock().lock();
+        try {
+            return textMatches(query).stream()
+                    .mapToObj(i -> documents.get((long) i))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Facet counts for the storefront filters.
+     * Category and price counts ignore their own filter so shoppers can see the alternatives;
+     * size and color counts apply every filter.
+     */
+    public ProductFacetsDto facets(String query, Long categoryId, BigDecimal minPrice, BigDecimal maxPrice) {
+        lock.readLock().lock();
+        try {
+            BitSet text = query == null || query.isBlank() ? allProducts : textMatches(query);
+            BitSet category = categoryId == null ? allProducts : byCategory.getOrDefault(categoryId, new BitSet());
+            BitSet price = minPrice == null && maxPrice == null ? allProducts : priceMatches(text, minPrice, maxPrice);
+
+            BitSet textAndPrice = and(text, price);
+            BitSet textAndCategory = and(text, category);
+            BitSet all = and(textAndCategory, price);
+
+            long[] bucketCounts = new long[PRICE_BUCKETS.size()];
+            textAndCategory.stream().forEach(i -> {
+                int bucket = bucketOf(documents.get((long) i).minPrice());
+                if (bucket >= 0) bucketCounts[bucket]++;
+            });
+            List<FacetCount> priceBuckets = new ArrayList<>();
+            for (int b = 0; b < PRICE_BUCKETS.size(); b++) {
+                if (bucketCounts[b] > 0) priceBuckets.add(new FacetCount(bucketKey(b), bucketCounts[b]));
+            }
+
+            return new ProductFacetsDto(
+                    all.cardinality(),
+                    countEach(byCategory, textAndPrice, String::valueOf),
+                    priceBuckets,
+                    countEach(bySize, all, Function.identity()),
+                    countEach(byColor, all, Function.identity()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ==================== HELPERS (callers hold the lock) ====================
+
+    private BitSet textMatches(String query) {
+        BitSet result = null;
+        for (String token : ArabicTextNormalizer.tokenize(query)) {
+            BitSet matches = new BitSet();
+            for (Map.Entry<String, Set<Long>> e : postings.tailMap(token, true).entrySet()) {
+                if (!e.getKey().startsWith(token)) break;
+                e.getValue().forEach(id -> matches.set(bit(id)));
+            }
+            if (result == null) {
+                result = matches;
+            } else {
+                result.and(matches);
+            }
+            if (result.isEmpty()) break;
+        }
+        return result == null ? new BitSet() : result;
+    }
+
+    private BitSet priceMatches(BitSet candidates, BigDecimal minPrice, BigDecimal maxPrice) {
+        BitSet result = new BitSet();
+        candidates.stream().forEach(i -> {
+            if (documents.get((long) i).priceOverlaps(minPrice, maxPrice)) {
+                result.set(i);
+            }
+        });
+        return result;
+    }
+
+    private static <K> List<FacetCount> countEach(Map<K, BitSet> facet, BitSet filter, Function<K, String> key) {
+        List<FacetCount> counts = new ArrayList<>();
+        facet.forEach((value, bits) -> {
+            int count = and(bits, filter).cardinality();
+            if (count > 0) counts.add(new FacetCount(key.apply(value), count));
+        });
+        counts.sort(Comparator.comparingLong(FacetCount::count).reversed());
+        return counts;
+    }
+
+    private static BitSet and(BitSet a, BitSet b) {
+        BitSet result = (BitSet) a.clone();
+        result.and(b);
+        return result;
+    }
+
+    private static int bucketOf(BigDecimal price) {
+        if (price == null) return -1;
+        for (int b = PRICE_BUCKETS.size() - 1; b >= 0; b--) {
+            if (price.compareTo(PRICE_BUCKETS.get(b)) >= 0) return b;
+        }
+        return -1;
+    }
+
+    private static String bucketKey(int bucket) {
+        String lower = PRICE_BUCKETS.get(bucket).toPlainString();
+        return bucket == PRICE_BUCKETS.size() - 1
+                ? lower + "+"
+                : lower + "-" + PRICE_BUCKETS.get(bucket + 1).toPlainString();
+    }
+
+    private void put(IndexedProduct doc) {
+        int bit = bit(doc.id());
+        documents.put(doc.id(), doc);
+        allProducts.set(bit);
+        byCategory.computeIfAbsent(doc.categoryId(), c -> new BitSet()).set(bit);
+        doc.sizes().forEach(size -> bySize.computeIfAbsent(size, s -> new BitSet()).set(bit));
+        doc.colors().forEach(color -> byColor.computeIfAbsent(color, c -> new BitSet()).set(bit));
+        for (String token : ArabicTextNormalizer.tokenize(doc.name())) {
+            postings.computeIfAbsent(token, t -> new HashSet<>()).add(doc.id());
+        }
+    }
+
+    private void drop(Long id) {
+        IndexedProduct old = documents.remove(id);
+        if (old == null) return;
+        int bit = bit(id);
+        allProducts.clear(bit);
+        clear(byCategory, old.categoryId(), bit);
+        old.sizes().forEach(size -> clear(bySize, size, bit));
+        old.colors().forEach(color -> clear(byColor, color, bit));
+        for (String token : ArabicTextNormalizer.tokenize(old.name())) {
+            Set<Long> ids = postings.get(token);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) postings.remove(token);
+            }
+        }
+    }
+
+    private void track(Long productId) {
+        if (touchedDuringRebuild != null) touchedDuringRebuild.add(productId);
+    }
+
+    /**
+     * Hands the recorded ids to rebuild(); stops recording once nothing new was recorded.
+     */
+    private Set<Long> takeTouched() {
+        Set<Long> touched = touchedDuringRebuild;
+        touchedDuringRebuild = touched.isEmpty() ? null : new HashSet<>();
+        return touched;
+    }
+
+    private static <K> void clear(Map<K, BitSet> facet, K key, int bit) {
+        BitSet bits = facet.get(key);
+        if (bits != null) {
+            bits.clear(bit);
+            if (bits.isEmpty()) facet.remove(key);
+        }
+    }
+
+    private static int bit(Long productId) {
+        return Math.toIntExact(productId);
+    }
+
+    private static List<IndexedProduct> toDocuments(List<ProductIndexRow> rows, List<VariantFacetRow> variants) {
+        Map<Long, List<VariantFacetRow>> variantsByProduct = variants.stream()
+                .collect(Collectors.groupingBy(VariantFacetRow::productId));
+        return rows.stream().map(r -> {
+            List<VariantFacetRow> vs = variantsByProduct.getOrDefault(r.id(), List.of());
+            return new IndexedProduct(r.id(), r.categoryId(), r.name(), r.createdAt(), r.minPrice(), r.maxPrice(),
+                    vs.stream().map(VariantFacetRow::size).collect(Collectors.toCollection(TreeSet::new)),
+                    vs.stream().map(VariantFacetRow::color).collect(Collectors.toCollection(TreeSet::new)));
+        }).toList();
+    }
+
+    private void write(Runnable action) {
+        writeAndGet(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private <T> T writeAndGet(Supplier<T> action) {
+        lock.writeLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    public record IndexedProduct(Long id, Long categoryId, String name, Instant createdAt,
+                                 BigDecimal minPrice, BigDecimal maxPrice,
+                                 Collection<String> sizes, Collection<String> colors) {
+
+        /**
+         * Same rule as the SQL filter: the product's [minPrice, maxPrice] overlaps the requested range.
+         * A product without active variants has no price and matches only when no bound is given.
+         */
+        public boolean priceOverlaps(BigDecimal min, BigDecimal max) {
+            if (min == null && max == null) return true;
+            return minPrice != null && maxPrice != null
+                    && (min == null || maxPrice.compareTo(min) >= 0)
+                    && (max == null || minPrice.compareTo(max) <= 0);
+        }
+    }
+}
@@ -0,0 +1,6 @@
+-- Composite indexes for keyset (seek) pagination of the storefront listing
+-- /api/products/scroll orders by (created_at, id) or (min_price, id)
+-- Safe to run multiple times (IF NOT EXISTS)
+
+CREATE INDEX IF NOT EXISTS idx_products_created_at_id ON store.products (created_at, id);
+CREATE INDEX IF NOT EXISTS idx_products_min_price_id ON store.products (min_price, id);
@@ -0,0 +1,10 @@
+-- Composite indexes for the admin order feed (/api/admin/orders/feed)
+-- The feed seeks on (created_at, id) newest first, filtered by status set and/or assigned employee
+-- Safe to run multiple times (IF NOT EXISTS)
+
+CREATE INDEX IF NOT EXISTS idx_orders_created_at_id ON store.orders (created_at, id);
+CREATE INDEX IF NOT EXISTS idx_orders_status_created_at_id ON store.orders (status, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_orders_employee_created_at_id ON store.orders (assigned_employee_id, created_at, id);
+
+-- Customer "my orders" listing
+CREATE INDEX IF NOT EXISTS idx_orders_customer_created_at ON store.orders (customer_id, created_at);
@@ -0,0 +1,17 @@
+-- Idempotency-Key of POST /api/orders, one row per (customer, key)
+-- Retries with the same key and body return the stored order instead of placing a new one;
+-- request_hash (OrderPlaceRequest.fingerprint) lets a reuse with a different body be rejected
+-- Safe to run multiple times (IF NOT EXISTS)
+
+CREATE TABLE IF NOT EXISTS store.order_idempotency_keys (
+    id              BIGSERIAL PRIMARY KEY,
+    customer_id     BIGINT       NOT NULL,
+    idempotency_key VARCHAR(100) NOT NULL,
+    request_hash    VARCHAR(64)  NOT NULL,
+    order_id        BIGINT,
+    created_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT uk_order_idempotency_customer_key UNIQUE (customer_id, idempotency_key)
+);
+
+CREATE INDEX IF NOT EXISTS idx_order_idempotency_created_at ON store.order_idempotency_keys (created_at);
@@ -0,0 +1,27 @@
+-- Pooled id allocation for high-volume tables so Hibernate can batch their inserts
+-- Entities: OrderItem, CartItem, CouponUsage, RefreshToken, ProductVariant
+-- (@SequenceGenerator sequenceName = "<table>_id_seq", allocationSize = 50, pooled-lo)
+--
+-- The tables already own a "<table>_id_seq" sequence (identity or serial), so ids simply
+-- continue from the current value; only the step changes to the allocation size.
+-- Columns keep their database default, so manual inserts still work.
+-- Safe to run multiple times.
+
+DO $$
+DECLARE
+    t TEXT;
+    is_identity BOOLEAN;
+BEGIN
+    FOREACH t IN ARRAY ARRAY['order_items', 'cart_items', 'coupon_usages', 'refresh_tokens', 'product_variants']
+    LOOP
+        SELECT a.attidentity <> '' INTO is_identity
+        FROM pg_attribute a
+        WHERE a.attrelid = format('store.%I', t)::regclass AND a.attname = 'id';
+
+        IF is_identity THEN
+            EXECUTE format('ALTER TABLE store.%I ALTER COLUMN id SET INCREMENT BY 50', t);
+        ELSE
+            EXECUTE format('ALTER SEQUENCE store.%I INCREMENT BY 50', t || '_id_seq');
+        END IF;
+    END LOOP;
+END $$;
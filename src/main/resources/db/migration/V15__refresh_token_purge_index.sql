@@ -0,0 +1,7 @@
+-- Supports the scheduled refresh-token purge (RefreshTokenPurger)
+-- Expired rows are found through idx_refresh_tokens_expires; revoked rows through this partial index,
+-- which stays small because only rotated/logged-out tokens carry revoked_at
+-- Safe to run multiple times (IF NOT EXISTS)
+
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_revoked_at ON store.refresh_tokens (revoked_at)
+    WHERE revoked_at IS NOT NULL;
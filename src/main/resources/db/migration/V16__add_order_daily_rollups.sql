@@ -0,0 +1,37 @@
+-- Daily sales rollups maintained by OrderRollupJob (see /api/admin/metrics/daily*)
+-- Rows for a day are rebuilt whenever an order created that day changes; the job's
+-- progress is tracked in admin_metric_config.rollup_watermark
+-- Safe to run multiple times (IF NOT EXISTS)
+
+CREATE TABLE IF NOT EXISTS store.order_daily_rollup (
+    day         DATE           NOT NULL,
+    status      VARCHAR(25)    NOT NULL,
+    order_count BIGINT         NOT NULL,
+    revenue     NUMERIC(14, 2) NOT NULL,
+    units       BIGINT         NOT NULL,
+    PRIMARY KEY (day, status)
+);
+
+CREATE TABLE IF NOT EXISTS store.order_daily_variant_rollup (
+    day        DATE           NOT NULL,
+    status     VARCHAR(25)    NOT NULL,
+    variant_id BIGINT         NOT NULL,
+    units      BIGINT         NOT NULL,
+    revenue    NUMERIC(14, 2) NOT NULL,
+    PRIMARY KEY (day, status, variant_id)
+);
+CREATE INDEX IF NOT EXISTS idx_order_daily_variant_rollup_variant ON store.order_daily_variant_rollup (variant_id, day);
+
+CREATE TABLE IF NOT EXISTS store.order_daily_city_rollup (
+    day         DATE           NOT NULL,
+    status      VARCHAR(25)    NOT NULL,
+    city        VARCHAR(50)    NOT NULL,
+    order_count BIGINT         NOT NULL,
+    revenue     NUMERIC(14, 2) NOT NULL,
+    PRIMARY KEY (day, status, city)
+);
+
+ALTER TABLE store.admin_metric_config ADD COLUMN IF NOT EXISTS rollup_watermark TIMESTAMPTZ;
+
+-- The job finds changed orders by updated_at
+CREATE INDEX IF NOT EXISTS idx_orders_updated_at ON store.orders (updated_at);
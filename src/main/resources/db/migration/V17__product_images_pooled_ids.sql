@@ -0,0 +1,18 @@
+-- Pooled id allocation for product_images so bulk image uploads insert in JDBC batches
+-- (ProductImage: @SequenceGenerator sequenceName = "product_images_id_seq", allocationSize = 50)
+-- Same approach as V14__pooled_sequence_ids.sql. Safe to run multiple times.
+
+DO $$
+DECLARE
+    is_identity BOOLEAN;
+BEGIN
+    SELECT a.attidentity <> '' INTO is_identity
+    FROM pg_attribute a
+    WHERE a.attrelid = 'store.product_images'::regclass AND a.attname = 'id';
+
+    IF is_identity THEN
+        ALTER TABLE store.product_images ALTER COLUMN id SET INCREMENT BY 50;
+    ELSE
+        ALTER SEQUENCE store.product_images_id_seq INCREMENT BY 50;
+    END IF;
+END $$;
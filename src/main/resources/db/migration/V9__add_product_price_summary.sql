@@ -0,0 +1,22 @@
+-- Denormalized price range on products
+-- Lets storefront price filtering/sorting run on one indexed column instead of joining variants
+-- Safe to run multiple times (IF NOT EXISTS)
+
+ALTER TABLE store.products ADD COLUMN IF NOT EXISTS min_price NUMERIC(12, 2);
+ALTER TABLE store.products ADD COLUMN IF NOT EXISTS max_price NUMERIC(12, 2);
+
+-- Backfill from active, non-deleted variants
+UPDATE store.products p
+SET min_price = s.min_price,
+    max_price = s.max_price
+FROM (
+    SELECT product_id,
+           MIN(price) AS min_price,
+           MAX(price) AS max_price
+    FROM store.product_variants
+    WHERE active = TRUE AND deleted = FALSE
+    GROUP BY product_id
+) s
+WHERE s.product_id = p.id;
+
+CREATE INDEX IF NOT EXISTS idx_products_min_price ON store.products (min_price);
@@ -0,0 +1,208 @@
+package com.samah.store.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UploadsRequestHandlerTest {
+
+    private static final int LENGTH = 1000;
+
+    @TempDir
+    Path uploadDir;
+
+    private UploadsRequestHandler handler;
+    private byte[] content;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        content = new byte[LENGTH];
+        for (int i = 0; i < LENGTH; i++) content[i] = (byte) i;
+        Files.write(uploadDir.resolve("abc.jpg"), content);
+        handler = new UploadsRequestHandler(uploadDir.toString());
+    }
+
+    @Test
+    void fullResponseWithValidatorsAndImmutableCaching() throws Exception {
+        MockHttpServletResponse response = get();
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsByteArray()).isEqualTo(content);
+        assertThat(response.getHeader("ETag")).isEqualTo("\"abc-3e8\"");
+        assertThat(response.getHeader("Accept-Ranges")).isEqualTo("bytes");
+        assertThat(response.getHeader("Cache-Control")).contains("immutable").contains("max-age=31536000");
+        assertThat(response.getContentType()).isEqualTo("image/jpeg");
+    }
+
+    @Test
+    void closedRange() throws Exception {
+        MockHttpServletResponse response = get("Range", "bytes=10-19");
+
+        assertPartial(response, 10, 19);
+    }
+
+    @Test
+    void closedRangeEndIsClampedToLength() throws Exception {
+        MockHttpServletResponse response = get("Range", "bytes=990-5000");
+
+        assertPartial(response, 990, 999);
+    }
+
+    @Test
+    void openEndedRange() throws Exception {
+        MockHttpServletResponse response = get("Range", "bytes=900-");
+
+        assertPartial(response, 900, 999);
+    }
+
+    @Test
+    void suffixRange() throws Exception {
+        MockHttpServletResponse response = get("Range", "bytes=-100");
+
+        assertPartial(response, 900, 999);
+    }
+
+    @Test
+    void suffixRangeLongerThanFileReturnsWholeFile() throws Exception {
+        MockHttpServletResponse response = get("Range", "bytes=-5000");
+
+        assertPartial(response, 0, 999);
+    }
+
+    @Test
+    void rangeStartingPastEndIsUnsatisfiable() throws Exception {
+        MockHttpServletResponse response = get("Range", "bytes=1000-");
+
+        assertThat(response.getStatus()).isEqualTo(416);
+        assertThat(response.getHeader("Content-Range")).isEqualTo("bytes */1000");
+    }
+
+    @Test
+    void zeroSuffixAndReversedRangesAreUnsatisfiable() throws Exception {
+        assertThat(get("Range", "bytes=-0").getStatus()).isEqualTo(416);
+        assertThat(get("Range", "bytes=50-10").getStatus()).isEqualTo(416);
+    }
+
+    @Test
+    void multiRangeFallsBackToFullResponse() throws Exception {
+        MockHttpServletResponse response = get("Range", "bytes=0-9,20-29");
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader("Content-Range")).isNull();
+        assertThat(response.getContentAsByteArray()).hasSize(LENGTH);
+    }
+
+    @Test
+    void malformedRangesAreIgnored() throws Exception {
+        assertThat(get("Range", "items=0-9").getStatus()).isEqualTo(200);
+        assertThat(get("Range", "bytes=abc-").getStatus()).isEqualTo(200);
+        assertThat(get("Range", "bytes=10").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void ifRangeWithMatchingEtagHonorsRange() throws Exception {
+        MockHttpServletResponse response = get("Range", "bytes=0-9", "If-Range", "\"abc-3e8\"");
+
+        assertPartial(response, 0, 9);
+    }
+
+    @Test
+    void ifRangeWithStaleEtagReturnsFullResponse() throws Exception {
+        MockHttpServletResponse response = get("Range", "bytes=0-9", "If-Range", "\"other-3e8\"");
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsByteArray()).hasSize(LENGTH);
+    }
+
+    @Test
+    void ifRangeWithWeakEtagReturnsFullResponse() throws Exception {
+        MockHttpServletResponse response = get("Range", "bytes=0-9", "If-Range", "W/\"abc-3e8\"");
+
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void ifRangeWithDate() throws Exception {
+        long lastModified = Files.getLastModifiedTime(uploadDir.resolve("abc.jpg")).toMillis();
+
+        assertPartial(getWithDate(lastModified + 60_000), 0, 9);
+        assertThat(getWithDate(lastModified - 60_000).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void matchingIfNoneMatchReturnsNotModified() throws Exception {
+        MockHttpServletResponse response = get("If-None-Match", "\"abc-3e8\"");
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void headSendsHeadersOnly() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("HEAD", "/uploads/abc.jpg");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        handler.handleRequest(request, response);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentLengthLong()).isEqualTo(LENGTH);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void rejectsTraversalUnknownFilesAndOtherTypes() throws Exception {
+        Files.writeString(uploadDir.resolve("notes.txt"), "secret");
+
+        assertThat(fetch("/uploads/../abc.jpg").getStatus()).isEqualTo(404);
+        assertThat(fetch("/uploads/missing.jpg").getStatus()).isEqualTo(404);
+        assertThat(fetch("/uploads/notes.txt").getStatus()).isEqualTo(404);
+    }
+
+    @Test
+    void servesNestedHeroImages() throws Exception {
+        Files.createDirectories(uploadDir.resolve("hero"));
+        Files.write(uploadDir.resolve("hero/banner.png"), content);
+
+        MockHttpServletResponse response = fetch("/uploads/hero/banner.png");
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentType()).isEqualTo("image/png");
+    }
+
+    private void assertPartial(MockHttpServletResponse response, int first, int last) throws Exception {
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getHeader("Content-Range")).isEqualTo("bytes " + first + "-" + last + "/" + LENGTH);
+        assertThat(response.getContentLengthLong()).isEqualTo(last - first + 1);
+        assertThat(response.getContentAsByteArray()).isEqualTo(Arrays.copyOfRange(content, first, last + 1));
+    }
+
+    private MockHttpServletResponse get(String... headers) throws Exception {
+        return fetch("/uploads/abc.jpg", headers);
+    }
+
+    private MockHttpServletResponse fetch(String uri, String... headers) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        for (int i = 0; i < headers.length; i += 2) {
+            request.addHeader(headers[i], headers[i + 1]);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        handler.handleRequest(request, response);
+        return response;
+    }
+
+    private MockHttpServletResponse getWithDate(long ifRangeMillis) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/uploads/abc.jpg");
+        request.addHeader("Range", "bytes=0-9");
+        request.addHeader("If-Range", ifRangeMillis);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        handler.handleRequest(request, response);
+        return response;
+    }
+}
@@ -0,0 +1,62 @@
+package com.samah.store.security;
+
+import com.samah.store.exception.TooManyRequestsException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AuthRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AuthRateLimiter limiter = new AuthRateLimiter("3/1m", "2/5m", "5/1h", "30/1m", 1000, clock::get);
+
+    @Test
+    void burstThenRetryAfterInSeconds() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire(AuthRateLimiter.LOGIN_IP, "10.0.0.1")).isZero();
+        }
+        // 3 per minute: next token in 20s
+        assertThat(limiter.tryAcquire(AuthRateLimiter.LOGIN_IP, "10.0.0.1")).isEqualTo(21);
+        assertThat(limiter.stats().rejected()).containsEntry(AuthRateLimiter.LOGIN_IP, 1L);
+    }
+
+    @Test
+    void refillsWithTheClock() {
+        for (int i = 0; i < 3; i++) limiter.tryAcquire(AuthRateLimiter.LOGIN_IP, "10.0.0.1");
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(20));
+
+        assertThat(limiter.tryAcquire(AuthRateLimiter.LOGIN_IP, "10.0.0.1")).isZero();
+        assertThat(limiter.tryAcquire(AuthRateLimiter.LOGIN_IP, "10.0.0.1")).isPositive();
+    }
+
+    @Test
+    void keysAndLimitsAreIndependent() {
+        for (int i = 0; i < 3; i++) limiter.tryAcquire(AuthRateLimiter.LOGIN_IP, "10.0.0.1");
+
+        assertThat(limiter.tryAcquire(AuthRateLimiter.LOGIN_IP, "10.0.0.2")).isZero();
+        assertThat(limiter.tryAcquire(AuthRateLimiter.REFRESH_IP, "10.0.0.1")).isZero();
+    }
+
+    @Test
+    void accountLimitIgnoresCaseAndWhitespace() {
+        limiter.checkLoginAccount("Samah@Example.com");
+        limiter.checkLoginAccount("  samah@example.com ");
+
+        assertThatThrownBy(() -> limiter.checkLoginAccount("SAMAH@EXAMPLE.COM"))
+                .isInstanceOf(TooManyRequestsException.class);
+    }
+
+    @Test
+    void rejectsMalformedLimits() {
+        assertThatThrownBy(() -> AuthRateLimiter.Limit.parse("10"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> AuthRateLimiter.Limit.parse("0/1m"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(AuthRateLimiter.Limit.parse("5/30s").refillNanos()).isEqualTo(TimeUnit.SECONDS.toNanos(30));
+    }
+}
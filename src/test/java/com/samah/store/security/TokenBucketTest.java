@@ -0,0 +1,95 @@
+package com.samah.store.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void allowsBurstUpToCapacityThenReportsWait() {
+        // 5 tokens per 10s: one token every 2s
+        TokenBucket bucket = new TokenBucket(5, 10 * SECOND, 0);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(bucket.tryConsume(0)).isZero();
+        }
+        assertThat(bucket.tryConsume(0)).isEqualTo(2 * SECOND);
+    }
+
+    @Test
+    void refillsContinuously() {
+        TokenBucket bucket = new TokenBucket(5, 10 * SECOND, 0);
+        for (int i = 0; i < 5; i++) bucket.tryConsume(0);
+
+        assertThat(bucket.tryConsume(SECOND)).isEqualTo(SECOND); // half a token so far
+        assertThat(bucket.tryConsume(2 * SECOND)).isZero();
+        assertThat(bucket.tryConsume(2 * SECOND)).isPositive();
+    }
+
+    @Test
+    void refillIsCappedAtCapacity() {
+        TokenBucket bucket = new TokenBucket(3, 3 * SECOND, 0);
+        for (int i = 0; i < 3; i++) bucket.tryConsume(0);
+
+        long later = 3600 * SECOND;
+        for (int i = 0; i < 3; i++) {
+            assertThat(bucket.tryConsume(later)).isZero();
+        }
+        assertThat(bucket.tryConsume(later)).isPositive();
+    }
+
+    @Test
+    void staleTimestampDoesNotRewindTheBucket() {
+        TokenBucket bucket = new TokenBucket(1, 10 * SECOND, 0);
+        assertThat(bucket.tryConsume(10 * SECOND)).isZero();
+
+        // A racing caller that read the clock earlier
+        assertThat(bucket.tryConsume(5 * SECOND)).isPositive();
+        // Refill is still measured from the latest timestamp
+        assertThat(bucket.tryConsume(19 * SECOND)).isPositive();
+        assertThat(bucket.tryConsume(20 * SECOND)).isZero();
+    }
+
+    @Test
+    void concurrentCallersNeverTakeMoreThanCapacity() throws Exception {
+        int capacity = 100;
+        int threads = 8;
+        int attemptsPerThread = 1000;
+        TokenBucket bucket = new TokenBucket(capacity, 3600 * SECOND, 0);
+        AtomicInteger granted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < attemptsPerThread; i++) {
+                        // Clock frozen: no refill, so exactly `capacity` calls may succeed
+                        if (bucket.tryConsume(0) == 0) granted.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> f : futures) f.get(10, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(granted.get()).isEqualTo(capacity);
+    }
+}
@@ -0,0 +1,67 @@
+package com.samah.store.service.search;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArabicTextNormalizerTest {
+
+    @ParameterizedTest(name = "{0} -> {1}")
+    @CsvSource({
+            // Alef variants fold to bare alef
+            "أحمر, احمر",
+            "إسدال, اسدال",
+            "آمنة, امنه",
+            "ٱلبيت, البيت",
+            // Alef maqsura and hamza on ya fold to ya, hamza on waw folds to waw
+            "مستشفى, مستشفي",
+            "شائع, شايع",
+            "مؤقت, موقت",
+            // Taa marbuta folds to haa
+            "عباءة, عباءه",
+            // Diacritics, superscript alef and tatweel are removed
+            "فُسْتَانٌ, فستان",
+            "رحمٰن, رحمن",
+            "جـــميل, جميل",
+            // Latin is lower-cased and accents stripped
+            "Café CRÈME, cafe creme",
+            "Abaya, abaya",
+    })
+    void normalizes(String input, String expected) {
+        assertThat(ArabicTextNormalizer.normalize(input)).isEqualTo(expected);
+    }
+
+    @ParameterizedTest(name = "[{index}] {0}")
+    @MethodSource("tokenCases")
+    void tokenizes(String input, List<String> expected) {
+        assertThat(ArabicTextNormalizer.tokenize(input)).isEqualTo(expected);
+    }
+
+    static Stream<Arguments> tokenCases() {
+        return Stream.of(
+                Arguments.of(null, List.of()),
+                Arguments.of("", List.of()),
+                Arguments.of("  -- ", List.of()),
+                Arguments.of("فستان سهرة", List.of("فستان", "سهره")),
+                Arguments.of("عباية-كتان، مقاس 42!", List.of("عبايه", "كتان", "مقاس", "42")),
+                Arguments.of("Maxi  Dress/أسود", List.of("maxi", "dress", "اسود")),
+                Arguments.of("جـلابيـة", List.of("جلابيه")));
+    }
+
+    @ParameterizedTest(name = "{0} ~ {1}")
+    @CsvSource({
+            "أسود, اسود",
+            "عباءة, عباءه",
+            "فُستان, فستان",
+            "مستشفى, مستشفي",
+    })
+    void spellingVariantsProduceTheSameTokens(String a, String b) {
+        assertThat(ArabicTextNormalizer.tokenize(a)).isEqualTo(ArabicTextNormalizer.tokenize(b));
+    }
+}